@@ -2,6 +2,7 @@ package com.bressio.rendezvous;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.bressio.rendezvous.graphics.AssetService;
 import com.bressio.rendezvous.scenes.MainMenu;
 
 public class Rendezvous extends Game {
@@ -22,5 +23,6 @@ public class Rendezvous extends Game {
     @Override
     public void dispose () {
         batch.dispose();
+        AssetService.getInstance().dispose();
     }
 }
@@ -0,0 +1,49 @@
+package com.bressio.rendezvous;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.bressio.rendezvous.graphics.AssetService;
+import com.bressio.rendezvous.scenes.Match;
+
+public class Simulator extends ApplicationAdapter {
+
+    private static final int MAX_MATCH_DURATION = 900;
+
+    private final int matchesToRun;
+    private int matchesRun;
+    private Match match;
+
+    public Simulator(int matchesToRun) {
+        this.matchesToRun = matchesToRun;
+    }
+
+    @Override
+    public void create() {
+        match = Match.createHeadless();
+    }
+
+    @Override
+    public void render() {
+        if (matchesRun == matchesToRun) {
+            return;
+        }
+        match.getSimulation().step();
+        if (match.getSimulation().isOver() || match.getMatchDuration() >= MAX_MATCH_DURATION) {
+            Gdx.app.log("Simulator", "match " + (matchesRun + 1) + "/" + matchesToRun +
+                    " finished in " + match.getMatchDuration() + "s with " +
+                    match.getSimulation().getEnemiesAlive() + " soldiers alive");
+            match.dispose();
+            matchesRun++;
+            if (matchesRun < matchesToRun) {
+                match = Match.createHeadless();
+            } else {
+                Gdx.app.exit();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        AssetService.getInstance().dispose();
+    }
+}
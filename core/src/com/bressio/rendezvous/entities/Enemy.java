@@ -1,13 +1,13 @@
 package com.bressio.rendezvous.entities;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.bressio.rendezvous.entities.objects.NPCInventory;
 import com.bressio.rendezvous.events.AI;
 import com.bressio.rendezvous.events.SteeringBehavior;
 import com.bressio.rendezvous.graphics.AnimationRegion;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 
@@ -29,7 +29,14 @@ public class Enemy extends Soldier implements SteeringBehavior, Lootable {
         setUserData();
     }
 
-    private void updateRotation(float delta) {
+    public void act() {
+        if (!isDead()) {
+            ai.commit();
+            updateRotation();
+        }
+    }
+
+    private void updateRotation() {
         if (target != null) {
             float angle = MathUtils.radiansToDegrees * MathUtils.atan2(
                     target.y - (getY() + pCenter(getHeight())),
@@ -43,9 +50,9 @@ public class Enemy extends Soldier implements SteeringBehavior, Lootable {
     }
 
     @Override
-    public void draw(Batch batch) {
+    public void draw(RenderQueue renderQueue) {
         if (isVisible) {
-            super.draw(batch);
+            super.draw(renderQueue);
         }
     }
 
@@ -62,8 +69,6 @@ public class Enemy extends Soldier implements SteeringBehavior, Lootable {
         if (!isDead()) {
             super.update(delta);
             getInventory().update(delta);
-            ai.update(delta);
-            updateRotation(delta);
         } else {
             if (playerIsColliding) {
                 getMatch().handleLootInterface(delta, getInventory().getItems());
@@ -100,8 +105,10 @@ public class Enemy extends Soldier implements SteeringBehavior, Lootable {
     @Override
     protected void die() {
         setDead(true);
+        ai.releaseClaims();
         isVisible = true;
         getBody().getFixtureList().first().setSensor(true);
+        getMatch().getWorldBuilder().getLootIndex().add(this);
     }
 
     private void setUserData() {
@@ -117,15 +124,14 @@ public class Enemy extends Soldier implements SteeringBehavior, Lootable {
         isVisible = visible;
     }
 
+    @Override
     public void drawInteractionButton() {
         if (playerIsColliding && isDead()) {
-            getMatch().getBatch().begin();
-            getMatch().getBatch().draw(interactionButton,
+            getMatch().getRenderQueue().submit(RenderQueue.Layer.INTERACTION_BUTTON, interactionButton,
                     getBody().getPosition().x - pScaleCenter(interactionButton.getWidth()),
                     getBody().getPosition().y - pScaleCenter(interactionButton.getHeight()),
                     pScale(interactionButton.getWidth()),
                     pScale(interactionButton.getHeight()));
-            getMatch().getBatch().end();
         }
     }
 
@@ -16,9 +16,11 @@ public abstract class Entity extends Sprite {
     private Vector2 position;
 
     Entity(Match match, Vector2 position, AnimationRegion animationRegion, ResourceHandler.TextureAtlasPath textureAtlasPath) {
-        super(match.getResources().getTextureAtlas(textureAtlasPath).findRegion(animationRegion.getRegion()));
         this.match = match;
         this.position = new Vector2(pScale(position.x), pScale(position.y));
+        if (!match.isHeadless()) {
+            setRegion(match.getResources().getTextureAtlas(textureAtlasPath).findRegion(animationRegion.getRegion()));
+        }
     }
 
     protected abstract void buildBody();
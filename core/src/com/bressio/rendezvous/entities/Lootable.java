@@ -5,4 +5,6 @@ import com.badlogic.gdx.physics.box2d.Body;
 public interface Lootable {
 
     Body getBody();
+
+    void drawInteractionButton();
 }
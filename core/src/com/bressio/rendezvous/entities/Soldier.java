@@ -1,7 +1,6 @@
 package com.bressio.rendezvous.entities;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
@@ -13,7 +12,9 @@ import com.bressio.rendezvous.entities.projectiles.Bullet;
 import com.bressio.rendezvous.forge.BodyBuilder;
 import com.bressio.rendezvous.graphics.AnimationRegion;
 import com.bressio.rendezvous.graphics.Animator;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
+import com.bressio.rendezvous.graphics.SoldierLayer;
 import com.bressio.rendezvous.scenes.Match;
 
 import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
@@ -32,6 +33,10 @@ public abstract class Soldier extends Entity {
     private Object lastEquippedHelmetClass;
 
     private Fixture fixture;
+    private Vector2 previousPosition;
+    private Vector2 currentPosition;
+    private Vector2 interpolatedPosition;
+    private Vector2 tickVelocity;
 
     private Animator animator;
     private int health = 100;
@@ -61,10 +66,11 @@ public abstract class Soldier extends Entity {
     }
 
     protected void init() {
-        animator = new Animator(this, animationRegion);
         setOrigin(pScaleCenter(animationRegion.getFrameWidth()), pScaleCenter(animationRegion.getFrameHeight()));
         setBounds(0, 0, pScale(animationRegion.getFrameWidth()), pScale(animationRegion.getFrameHeight()));
-        setRegion(animator.getIdleTexture());
+        if (!getMatch().isHeadless()) {
+            animator = new Animator(this, animationRegion, null, null);
+        }
         pointlight = getMatch().getResources().getTexture(ResourceHandler.TexturePath.POINTLIGHT);
     }
 
@@ -79,17 +85,33 @@ public abstract class Soldier extends Entity {
                 .withUserData(userData)
                 .build());
         fixture = getBody().getFixtureList().first();
+        previousPosition = new Vector2(getBody().getPosition());
+        currentPosition = new Vector2(previousPosition);
+        interpolatedPosition = new Vector2(previousPosition);
+        tickVelocity = new Vector2();
     }
 
     public void update(float delta) {
-        setPosition(
-                getBody().getPosition().x - pCenter(getWidth()),
-                getBody().getPosition().y - pCenter(getHeight()));
-        setRegion(animator.getFrame(delta, .7f));
-        verifyItems();
+        previousPosition.set(currentPosition);
+        currentPosition.set(getBody().getPosition());
+        tickVelocity.set(getBody().getLinearVelocity());
+        setPosition(currentPosition.x - pCenter(getWidth()), currentPosition.y - pCenter(getHeight()));
+        if (!getMatch().isHeadless()) {
+            // the animation of an off-screen soldier is left where it was, nobody would see it advance
+            if (getMatch().getViewBounds().contains(currentPosition)) {
+                animator.update(delta, .7f);
+            }
+            verifyItems();
+        }
         verifyHealth();
     }
 
+    public void interpolate(float alpha) {
+        // places the sprite between the last two ticks, the body itself stays on the tick position
+        interpolatedPosition.set(previousPosition).lerp(currentPosition, alpha);
+        setPosition(interpolatedPosition.x - pCenter(getWidth()), interpolatedPosition.y - pCenter(getHeight()));
+    }
+
     protected abstract void verifyItems();
 
     private void verifyHealth() {
@@ -105,17 +127,16 @@ public abstract class Soldier extends Entity {
         changeHealth(-5);
     }
 
-    @Override
-    public void draw(Batch batch) {
+    public void draw(RenderQueue renderQueue) {
         if (!isDead) {
             if (isFiring) {
-                batch.draw(pointlight,
-                        getBody().getPosition().x - pScaleCenter(pointlight.getWidth()),
-                        getBody().getPosition().y - pScaleCenter(pointlight.getHeight()),
+                renderQueue.submit(RenderQueue.Layer.SOLDIER_LIGHT, pointlight,
+                        getX() + pCenter(getWidth()) - pScaleCenter(pointlight.getWidth()),
+                        getY() + pCenter(getHeight()) - pScaleCenter(pointlight.getHeight()),
                         pScale(pointlight.getWidth()),
                         pScale(pointlight.getHeight()));
             }
-            super.draw(batch);
+            animator.draw(renderQueue);
         }
     }
 
@@ -123,10 +144,9 @@ public abstract class Soldier extends Entity {
         isFiring = firing;
     }
 
-    public void switchAnimation(AnimationRegion animationRegion, ResourceHandler.TextureAtlasPath textureAtlasPath) {
+    public void switchAnimation(AnimationRegion animationRegion, SoldierLayer armorLayer, SoldierLayer helmetLayer) {
         this.animationRegion = animationRegion;
-        setRegion(getMatch().getResources().getTextureAtlas(textureAtlasPath).findRegion(animationRegion.getRegion()));
-        animator = new Animator(this, animationRegion);
+        animator = new Animator(this, animationRegion, armorLayer, helmetLayer);
         setBounds(0, 0, pScale(animationRegion.getFrameWidth()), pScale(animationRegion.getFrameHeight()));
         setOrigin(pScaleCenter(animationRegion.getFrameWidth()), pScaleCenter(animationRegion.getFrameHeight()));
     }
@@ -159,6 +179,14 @@ public abstract class Soldier extends Entity {
         this.speed = speed;
     }
 
+    public Vector2 getTickPosition() {
+        return currentPosition;
+    }
+
+    public Vector2 getTickVelocity() {
+        return tickVelocity;
+    }
+
     public Fixture getFixture() {
         return fixture;
     }
@@ -1,9 +1,7 @@
 package com.bressio.rendezvous.entities.objects.weapons;
 
-import com.badlogic.gdx.utils.Timer;
 import com.bressio.rendezvous.entities.Soldier;
 import com.bressio.rendezvous.entities.objects.EntityObject;
-import com.bressio.rendezvous.entities.projectiles.Bullet;
 import com.bressio.rendezvous.scenes.Match;
 
 public abstract class Weapon extends EntityObject {
@@ -20,6 +18,26 @@ public abstract class Weapon extends EntityObject {
     private boolean isblocked;
     private boolean isUnblocking;
 
+    // the shooter is captured when the cease-fire is scheduled, the weapon may change hands before it runs.
+    // a single one is ever pending, it falls due before the weapon unblocks and lets it be scheduled again
+    private Soldier ceaseFireShooter;
+
+    private final Runnable ceaseFire = new Runnable() {
+        @Override
+        public void run() {
+            ceaseFireShooter.setFiring(false);
+            ceaseFireShooter = null;
+        }
+    };
+
+    private final Runnable unblock = new Runnable() {
+        @Override
+        public void run() {
+            isblocked = false;
+            isUnblocking = false;
+        }
+    };
+
     public Weapon(Match match) {
         super(match);
     }
@@ -33,7 +51,7 @@ public abstract class Weapon extends EntityObject {
         if (bullets > 0) {
             if (!isblocked) {
                 lastSoldierToShoot = soldier;
-                getMatch().addBullet(new Bullet(getMatch(), this));
+                getMatch().fireBullet(this);
                 bullets--;
                 bulletTimeCount = 0;
                 isblocked = true;
@@ -41,27 +59,20 @@ public abstract class Weapon extends EntityObject {
             }
             if (!isUnblocking){
                 isUnblocking = true;
-
-                Timer.schedule(new Timer.Task(){
-                    @Override
-                    public void run() {
-                        soldier.setFiring(false);
-                    }
-                }, .01f);
-
-                Timer.schedule(new Timer.Task(){
-                    @Override
-                    public void run() {
-                        isblocked = false;
-                        isUnblocking = false;
-                    }
-                }, rateOfFire);
+                ceaseFireShooter = soldier;
+                getMatch().getScheduler().schedule(ceaseFire, .01f);
+                getMatch().getScheduler().schedule(unblock, rateOfFire);
             }
         }
     }
 
     public abstract Object getAmmoType();
 
+    public boolean isHitscan() {
+        // the high-velocity weapons override this, their shots are resolved with ray casts instead of bodies
+        return false;
+    }
+
     public void setDamage(int damage) {
         this.damage = damage;
     }
@@ -22,4 +22,9 @@ public abstract class AssaultRifle extends Weapon {
     public float getTimeToTransform() {
         return .03f;
     }
+
+    @Override
+    public boolean isHitscan() {
+        return true;
+    }
 }
@@ -22,4 +22,9 @@ public abstract class SniperRifle extends Weapon {
     public float getTimeToTransform() {
         return .04f;
     }
+
+    @Override
+    public boolean isHitscan() {
+        return true;
+    }
 }
@@ -1,62 +1,106 @@
 package com.bressio.rendezvous.entities.projectiles;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
-import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.physics.box2d.Filter;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.utils.Pool;
+import com.bressio.rendezvous.entities.Soldier;
 import com.bressio.rendezvous.entities.objects.weapons.Weapon;
+import com.bressio.rendezvous.events.TickScheduler;
 import com.bressio.rendezvous.forge.BodyBuilder;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 
 import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
 
-public class Bullet extends Sprite {
+public class Bullet extends Sprite implements Pool.Poolable {
+
+    private static final float RANGE = 30;
+    private static final float MAX_FLIGHT_TIME = 4;
 
     private Match match;
     private Weapon weapon;
     private Body body;
-    private Vector2 position;
+    private Vector2 origin;
+    private Vector2 direction;
+    private Vector2 previousPosition;
+    private Vector2 currentPosition;
+    private Vector2 interpolatedPosition;
     private float radius;
     private short categoryBits;
     private short maskBits;
     private int velocity;
+    private float flightTime;
+    private long textureAppearance;
+
+    // tracers of hitscan weapons have no body, they sweep a ray over the distance covered in each tick
+    private boolean isTracer;
+    private Vector2 rayEnd;
+    private Fixture hitFixture;
+    private final Vector2 hitPoint = new Vector2();
+
+    private final RayCastCallback rayCastCallback = new RayCastCallback() {
+        @Override
+        public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+            if (!isHittable(fixture)) {
+                return -1;
+            }
+            hitFixture = fixture;
+            hitPoint.set(point);
+            // clips the ray, so only the nearest fixture is kept
+            return fraction;
+        }
+    };
 
     private boolean canDrawTexture;
     private boolean isDestroyed;
 
-    public Bullet(Match match, Weapon weapon) {
-        super(match.getResources().getTexture(ResourceHandler.TexturePath.BULLET));
+    private final Runnable showTexture = new Runnable() {
+        @Override
+        public void run() {
+            canDrawTexture = true;
+        }
+    };
+
+    Bullet(Match match) {
         this.match = match;
-        this.weapon = weapon;
+        setupTexture();
         init();
-        buildBody();
-        delayTextureAppearance();
+    }
+
+    private void setupTexture() {
+        if (!match.isHeadless()) {
+            Texture texture = match.getResources().getTexture(ResourceHandler.TexturePath.BULLET);
+            setRegion(texture);
+            setSize(texture.getWidth(), texture.getHeight());
+        }
     }
 
     private void init() {
         setBounds(0, 0, pScale(getWidth()), pScale(getHeight()));
         setOrigin(pScaleCenter(getWidth()) + .1f, pScaleCenter(getHeight()) + .1f);
         velocity = 10;
-        position = weapon.getLastSoldierToShoot().getBody().getPosition();
+        origin = new Vector2();
+        direction = new Vector2();
+        previousPosition = new Vector2();
+        currentPosition = new Vector2();
+        interpolatedPosition = new Vector2();
+        rayEnd = new Vector2();
+        textureAppearance = TickScheduler.NO_TASK;
         radius = 5;
         categoryBits = BULLET_TAG;
         maskBits =  (short) (DEFAULT_TAG | LOOT_TAG | PLAYER_TAG | ENEMY_TAG);
     }
 
-    public void moveForward() {
-        Vector2 direction = new Vector2(
-                (float) Math.cos(Math.toRadians(getRotation() + 90)),
-                        (float) Math.sin(Math.toRadians(getRotation() + 90))
-        );
-        body.setLinearVelocity(direction.x * velocity, direction.y * velocity);
-        setPosition(body.getPosition().x - .1f, body.getPosition().y - .1f);
-    }
-
     private void buildBody() {
-        body = new BodyBuilder(match.getWorld(), position)
+        // the body is kept for the whole match and only sleeps inactive in the pool between shots
+        body = new BodyBuilder(match.getWorld(), origin)
                 .withBodyType(BodyDef.BodyType.DynamicBody)
                 .withRadius(pScale(radius))
                 .withCategoryBits(categoryBits)
@@ -64,28 +108,119 @@ public class Bullet extends Sprite {
                 .withSensor(true)
                 .withUserData(this)
                 .build();
+    }
+
+    void fire(Weapon weapon) {
+        this.weapon = weapon;
+        isDestroyed = false;
+        canDrawTexture = false;
+        flightTime = 0;
+        origin.set(weapon.getLastSoldierToShoot().getBody().getPosition());
         setRotation(weapon.getLastSoldierToShoot().getRotation());
+        direction.set(
+                (float) Math.cos(Math.toRadians(getRotation() + 90)),
+                (float) Math.sin(Math.toRadians(getRotation() + 90)));
+        isTracer = weapon.isHitscan();
+        if (!isTracer) {
+            // the body is built on the first projectile shot and kept for the whole match
+            if (body == null) {
+                buildBody();
+            }
+            body.setTransform(origin, 0);
+            body.setActive(true);
+            body.setLinearVelocity(direction.x * velocity, direction.y * velocity);
+        }
+        previousPosition.set(origin);
+        currentPosition.set(origin);
+        setPosition(currentPosition.x - .1f, currentPosition.y - .1f);
+        delayTextureAppearance();
+    }
+
+    public void moveForward() {
+        previousPosition.set(currentPosition);
+        if (isTracer) {
+            sweep();
+        } else {
+            currentPosition.set(body.getPosition());
+        }
+        setPosition(currentPosition.x - .1f, currentPosition.y - .1f);
+        flightTime += TICK;
+    }
+
+    private void sweep() {
+        rayEnd.set(direction).scl(velocity * TICK).add(currentPosition);
+        hitFixture = null;
+        match.getWorld().rayCast(rayCastCallback, currentPosition, rayEnd);
+        if (hitFixture == null) {
+            currentPosition.set(rayEnd);
+            return;
+        }
+        currentPosition.set(hitPoint);
+        // resolved like the sensor contacts of the projectile bullets, see WorldContactListener
+        short hitCategory = hitFixture.getFilterData().categoryBits;
+        if (hitCategory == ENEMY_TAG || hitCategory == PLAYER_TAG) {
+            getSoldier(hitFixture).getShot(this);
+        }
+        destroy();
+    }
+
+    private boolean isHittable(Fixture fixture) {
+        Filter filter = fixture.getFilterData();
+        if ((filter.categoryBits & maskBits) == 0 || (filter.maskBits & categoryBits) == 0) {
+            return false;
+        }
+        if (filter.categoryBits == ENEMY_TAG || filter.categoryBits == PLAYER_TAG) {
+            Soldier soldier = getSoldier(fixture);
+            return !soldier.isDead() && soldier != weapon.getLastSoldierToShoot();
+        }
+        return true;
+    }
+
+    private Soldier getSoldier(Fixture fixture) {
+        // the player's fixture is only tagged with a name
+        if (fixture.getFilterData().categoryBits == PLAYER_TAG) {
+            return match.getPlayer();
+        }
+        return (Soldier) fixture.getUserData();
+    }
+
+    public void interpolate(float alpha) {
+        interpolatedPosition.set(previousPosition).lerp(currentPosition, alpha);
+        setPosition(interpolatedPosition.x - .1f, interpolatedPosition.y - .1f);
     }
 
     private void delayTextureAppearance() {
-        Timer.schedule(new Timer.Task(){
-            @Override
-            public void run() {
-                canDrawTexture = true;
-            }
-        }, .05f);
+        textureAppearance = match.getScheduler().schedule(showTexture, .05f);
     }
 
-    @Override
-    public void draw(Batch batch) {
+    public void draw(RenderQueue renderQueue) {
         if (canDrawTexture) {
-            super.draw(batch);
+            renderQueue.submit(RenderQueue.Layer.BULLET, this);
         }
     }
 
     public void destroy() {
-        match.getBullets().remove(this);
+        // called from contact callbacks, the body is only deactivated once the world step is over
+        isDestroyed = true;
+    }
+
+    boolean isSpent() {
+        return isDestroyed || flightTime > MAX_FLIGHT_TIME || currentPosition.dst2(origin) > RANGE * RANGE;
+    }
+
+    @Override
+    public void reset() {
+        // flagged first, so the contacts ended by the deactivation are ignored by the listener
         isDestroyed = true;
+        if (body != null) {
+            body.setActive(false);
+        }
+        match.getScheduler().cancel(textureAppearance);
+        weapon = null;
+    }
+
+    public boolean isTracer() {
+        return isTracer;
     }
 
     public Weapon getWeapon() {
@@ -95,6 +230,4 @@ public class Bullet extends Sprite {
     public boolean isDestroyed() {
         return isDestroyed;
     }
-
-
 }
@@ -0,0 +1,51 @@
+package com.bressio.rendezvous.entities.projectiles;
+
+import com.badlogic.gdx.utils.Pool;
+import com.bressio.rendezvous.entities.objects.weapons.Weapon;
+import com.bressio.rendezvous.scenes.Match;
+
+import java.util.ArrayList;
+
+public class BulletPool extends Pool<Bullet> {
+
+    private Match match;
+    private ArrayList<Bullet> bullets;
+
+    public BulletPool(Match match) {
+        this.match = match;
+        bullets = new ArrayList<>();
+    }
+
+    @Override
+    protected Bullet newObject() {
+        return new Bullet(match);
+    }
+
+    public void fire(Weapon weapon) {
+        Bullet bullet = obtain();
+        bullet.fire(weapon);
+        bullets.add(bullet);
+    }
+
+    public void update() {
+        for (Bullet bullet : bullets) {
+            bullet.moveForward();
+        }
+    }
+
+    public void retireSpentBullets() {
+        // must run outside of the world step, since it deactivates bodies
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            if (bullets.get(i).isSpent()) {
+                Bullet bullet = bullets.get(i);
+                bullets.set(i, bullets.get(bullets.size() - 1));
+                bullets.remove(bullets.size() - 1);
+                free(bullet);
+            }
+        }
+    }
+
+    public ArrayList<Bullet> getBullets() {
+        return bullets;
+    }
+}
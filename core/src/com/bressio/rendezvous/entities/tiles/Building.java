@@ -2,6 +2,7 @@ package com.bressio.rendezvous.entities.tiles;
 
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
 import com.bressio.rendezvous.entities.Enemy;
 import com.bressio.rendezvous.forge.WorldBuilder;
 import com.bressio.rendezvous.scenes.Match;
@@ -11,72 +12,45 @@ import static com.bressio.rendezvous.scheme.PhysicsAdapter.pUnscale;
 
 public class Building extends InteractiveTile {
 
-    private enum TraverseMode {
-        STORE, HIDE, SHOW
-    }
-
-    private int[][] ceilingTileIds;
     private final int CEILING_LAYER = WorldBuilder.Layer.CEILING.index;
-    private final int TRANSPARENT_TILE = 40;
     private final int CEILING_AREA = 31;
+    private int ceiling;
 
     public Building(Rectangle bounds, Match match) {
         super(bounds, match, true, BUILDING_TAG);
         setUserData();
-        storeCeilingTiles();
+        registerCeiling();
     }
 
     private void setUserData() {
         getFixture().setUserData(this);
     }
 
-    private void storeCeilingTiles() {
-        ceilingTileIds = new int[CEILING_AREA][CEILING_AREA];
-        traverseCeilingTiles(TraverseMode.STORE);
-    }
-
-    private void traverseCeilingTiles(TraverseMode mode) {
+    private void registerCeiling() {
+        // the ceiling is baked once and faded as a whole, the map cells are never rewritten
         TiledMapTileLayer layer = (TiledMapTileLayer) getMap().getLayers().get(CEILING_LAYER);
-        for (int i = -((CEILING_AREA / 2) - 1); i <= ((CEILING_AREA / 2) - 1); i++) {
-            for (int j = -((CEILING_AREA / 2) - 1); j <= ((CEILING_AREA / 2) - 1); j++) {
-                if (layer.getCell((int)((pUnscale(getBody().getPosition().x) / (CEILING_AREA + 1)) - i),
-                        (int)((pUnscale(getBody().getPosition().y) / (CEILING_AREA + 1)) - j)) != null) {
-                    switch (mode) {
-                        case STORE:
-                            ceilingTileIds[i + ((CEILING_AREA / 2) - 1)][j + ((CEILING_AREA / 2) - 1)] =
-                                    layer.getCell(
-                                            (int)((pUnscale(getBody().getPosition().x) / (CEILING_AREA + 1)) - i),
-                                            (int)((pUnscale(getBody().getPosition().y) / (CEILING_AREA + 1)) - j))
-                                            .getTile().getId();
-                            break;
-                        case HIDE:
-                            layer.getCell(
-                                    (int)((pUnscale(getBody().getPosition().x) / (CEILING_AREA + 1)) - i),
-                                    (int)((pUnscale(getBody().getPosition().y) / (CEILING_AREA + 1)) - j))
-                                    .setTile(getMap().getTileSets().getTile(TRANSPARENT_TILE));
-                            break;
-                        case SHOW:
-                            layer.getCell(
-                                    (int)((pUnscale(getBody().getPosition().x) / (CEILING_AREA + 1)) - i),
-                                    (int)((pUnscale(getBody().getPosition().y) / (CEILING_AREA + 1)) - j))
-                                    .setTile(getMap().getTileSets().getTile(
-                                            ceilingTileIds[i + ((CEILING_AREA / 2) - 1)]
-                                                    [j + ((CEILING_AREA / 2) - 1)]));
-                            break;
-                    }
+        int column = (int) (pUnscale(getBody().getPosition().x) / (CEILING_AREA + 1));
+        int row = (int) (pUnscale(getBody().getPosition().y) / (CEILING_AREA + 1));
+        int radius = (CEILING_AREA / 2) - 1;
+        IntArray cells = new IntArray();
+        for (int i = -radius; i <= radius; i++) {
+            for (int j = -radius; j <= radius; j++) {
+                if (layer.getCell(column - i, row - j) != null) {
+                    cells.add((row - j) * layer.getWidth() + column - i);
                 }
             }
         }
+        ceiling = getMatch().addCeiling(cells);
     }
 
     @Override
     public void onPlayerEnter() {
-        traverseCeilingTiles(TraverseMode.HIDE);
+        getMatch().setCeilingVisible(ceiling, false);
     }
 
     @Override
     public void onPlayerLeave() {
-        traverseCeilingTiles(TraverseMode.SHOW);
+        getMatch().setCeilingVisible(ceiling, true);
     }
 
     @Override
@@ -1,7 +1,6 @@
 package com.bressio.rendezvous.entities.tiles;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.bressio.rendezvous.entities.Enemy;
 import com.bressio.rendezvous.entities.Lootable;
@@ -20,6 +19,7 @@ import com.bressio.rendezvous.entities.objects.weapons.pistols.G21;
 import com.bressio.rendezvous.entities.objects.weapons.pistols.P26;
 import com.bressio.rendezvous.entities.objects.weapons.srs.AW3;
 import com.bressio.rendezvous.entities.objects.weapons.srs.M20;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 import com.bressio.rendezvous.scheme.MathUtils;
@@ -30,7 +30,6 @@ import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
 
 public abstract class Loot extends InteractiveTile implements Lootable {
 
-    private SpriteBatch batch;
     private Texture interactionButton;
     private boolean playerIsColliding;
 
@@ -38,7 +37,6 @@ public abstract class Loot extends InteractiveTile implements Lootable {
 
     Loot(Rectangle bounds, Match match) {
         super(bounds, match, false, LOOT_TAG);
-        this.batch = match.getBatch();
         init();
     }
 
@@ -47,15 +45,14 @@ public abstract class Loot extends InteractiveTile implements Lootable {
         interactionButton = getMatch().getResources().getTexture(ResourceHandler.TexturePath.INTERACTION_BUTTON);
     }
 
+    @Override
     public void drawInteractionButton() {
         if (playerIsColliding) {
-            batch.begin();
-            batch.draw(interactionButton,
+            getMatch().getRenderQueue().submit(RenderQueue.Layer.INTERACTION_BUTTON, interactionButton,
                     getBody().getPosition().x - pScaleCenter(interactionButton.getWidth()),
                     getBody().getPosition().y - pScaleCenter(interactionButton.getHeight()),
                     pScale(interactionButton.getWidth()),
                     pScale(interactionButton.getHeight()));
-            batch.end();
         }
     }
 
@@ -1,63 +1,386 @@
 package com.bressio.rendezvous.events;
 
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Timer;
 import com.bressio.rendezvous.entities.Enemy;
-import com.bressio.rendezvous.entities.Lootable;
 import com.bressio.rendezvous.entities.Soldier;
 import com.bressio.rendezvous.entities.objects.Empty;
 import com.bressio.rendezvous.entities.objects.EntityObject;
+import com.bressio.rendezvous.entities.objects.ammo.Ammo;
 import com.bressio.rendezvous.entities.objects.equipment.armor.Armor;
 import com.bressio.rendezvous.entities.objects.equipment.helmets.Helmet;
 import com.bressio.rendezvous.entities.objects.weapons.Weapon;
 import com.bressio.rendezvous.entities.objects.weapons.ars.AssaultRifle;
 import com.bressio.rendezvous.entities.objects.weapons.pistols.Pistol;
 import com.bressio.rendezvous.entities.objects.weapons.srs.SniperRifle;
+import com.bressio.rendezvous.forge.LootIndex;
 import com.bressio.rendezvous.forge.WorldBuilder;
+import com.bressio.rendezvous.navigation.Path;
 import com.bressio.rendezvous.scenes.Match;
 import com.bressio.rendezvous.scheme.MathUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 
 public class AI {
 
+    // indices into the considerations vector, filled once per tick and read by every behavior
+    private static final int THREAT = 0;
+    private static final int LOOT_VALUE = 1;
+    private static final int ZONE_PRESSURE = 2;
+    private static final int AMMO = 3;
+    private static final int SQUAD_THREAT = 4;
+    private static final int CONSIDERATIONS = 5;
+
+    // the current behavior is kept unless another one scores clearly higher, so the bots don't flicker
+    private static final float MOMENTUM = .05f;
+    private static final float ENGAGE_RANGE = 5;
+    private static final float CHASE_RANGE = 7;
+    private static final float SHOOT_RANGE = 4;
+    private static final float ASSIST_RANGE = 15;
+
+    private enum Behavior {
+        // base score, the considerations that must be present and the weight of each one, in the vector's order
+        LOOT(.2f, 0, 0, .3f, 0, 0, 0),
+        CHASE(.5f, 1 << THREAT | 1 << AMMO, .3f, 0, 0, .1f, 0),
+        ASSIST(.4f, 1 << SQUAD_THREAT | 1 << AMMO, 0, 0, 0, 0, .05f),
+        RENDEZVOUS(.9f, 1 << ZONE_PRESSURE, 0, 0, .1f, 0, 0);
+
+        private final float base;
+        private final int requirements;
+        private final float[] weights;
+
+        Behavior(float base, int requirements, float... weights) {
+            this.base = base;
+            this.requirements = requirements;
+            this.weights = weights;
+        }
+
+        private float score(float[] considerations) {
+            float score = base;
+            for (int i = 0; i < CONSIDERATIONS; i++) {
+                if ((requirements & 1 << i) != 0 && considerations[i] <= 0) {
+                    return 0;
+                }
+                score += weights[i] * considerations[i];
+            }
+            return score;
+        }
+    }
+
+    private static final Behavior[] BEHAVIORS = Behavior.values();
+
+    private enum LootStep {
+        CALCULATING_ROUTE, SEEKING_LOOT, LOOTING, FINDING_PATH
+    }
+
     private Match match;
     private WorldBuilder worldBuilder;
     private Soldier soldier;
     private Vector2 target;
     private Vector2 altTarget;
-    private ArrayList<Vector2> spatialMemory;
+    private Vector2 rendezvousTarget;
+    private Squad squad;
+    private int targetLootId;
+    private Path path;
+    private int waypointIndex;
+    private Vector2 waypoint;
+    private ArrayList<Soldier> soldiersAround;
+    private Random random;
+    private int id;
 
     private boolean isLooting;
     private boolean isGoingByAltPath;
     private boolean isAltPathTimedOut;
 
     private int selectedInventorySlot;
+    private boolean isArmed;
+    private int reserveBullets;
     private Soldier enemyOnTarget;
+    private Soldier assistTarget;
+
+    private float[] considerations;
+    private Behavior behavior;
+    private LootStep lootStep;
+
+    // decisions taken in parallel by decide(), applied to the world by commit()
+    private Vector2 pendingSeek;
+    private boolean pendingRoute;
+    private boolean pendingVisit;
+    private boolean pendingRelease;
+    private boolean pendingShot;
+    private boolean pendingReload;
+    private boolean pendingHide;
+    private boolean pendingSolidify;
+    private boolean pendingLootTimer;
+    private boolean pendingAltPathTimer;
+
+    private long reappearance = TickScheduler.NO_TASK;
+
+    private final Runnable reappear = new Runnable() {
+        @Override
+        public void run() {
+            ((Enemy)soldier).setVisible(true);
+            soldier.getBody().getFixtureList().first().setSensor(false);
+        }
+    };
 
-    private enum State {
-        IDLE, CALCULATING_ROUTE, SEEKING_LOOT, LOOTING, FINDING_PATH, GOING_TO_RENDEZVOUS, CHASING
-    }
+    private final Runnable finishLooting = new Runnable() {
+        @Override
+        public void run() {
+            isLooting = false;
+            lootStep = LootStep.CALCULATING_ROUTE;
+        }
+    };
 
-    private State state;
-    private State previousState;
+    private final Runnable timeOutAltPath = new Runnable() {
+        @Override
+        public void run() {
+            isAltPathTimedOut = true;
+        }
+    };
 
     public AI(Match match, Soldier soldier) {
-        state = State.IDLE;
         this.match = match;
         this.soldier = soldier;
         init();
     }
 
     private void init() {
-        spatialMemory = new ArrayList<>();
+        targetLootId = -1;
+        waypoint = new Vector2();
+        rendezvousTarget = new Vector2();
+        soldiersAround = new ArrayList<>();
         selectedInventorySlot = 0;
+        considerations = new float[CONSIDERATIONS];
+    }
+
+    public void decide(AILevelOfDetail levelOfDetail) {
+        // only reads the tick snapshot and this bot's own state, so bots can decide on any thread
+        boolean isEngaged = behavior == Behavior.CHASE || behavior == Behavior.ASSIST;
+        if (levelOfDetail.isDue(id, soldier.getTickPosition(), isEngaged)) {
+            decide();
+        } else {
+            // between decisions the bot keeps steering toward its last waypoint and takes no other action
+            Vector2 seek = pendingSeek;
+            clearPendingActions();
+            pendingSeek = seek;
+        }
+    }
+
+    private void decide() {
+        clearPendingActions();
+        evaluate();
+        selectBehavior();
+        switch (behavior) {
+            case LOOT:
+                seekItems();
+                break;
+            case CHASE:
+                chase();
+                break;
+            case ASSIST:
+                pendingSeek = assistTarget.getTickPosition();
+                break;
+            case RENDEZVOUS:
+                goToRendezvous();
+                break;
+        }
+    }
+
+    public void commit() {
+        if (pendingVisit) {
+            squad.visitLoot(targetLootId);
+        }
+        if (pendingRoute) {
+            planRoute();
+        }
+        if (pendingRelease) {
+            squad.releaseLoot(targetLootId);
+            targetLootId = -1;
+        }
+        if (pendingSolidify) {
+            soldier.getBody().getFixtureList().first().setSensor(false);
+        }
+        if (pendingSeek != null) {
+            ((SteeringBehavior)soldier).seek(pendingSeek);
+        }
+        if (pendingHide) {
+            hide();
+        }
+        if (pendingLootTimer) {
+            scheduleLootTimer();
+        }
+        if (pendingAltPathTimer) {
+            scheduleAltPathTimer();
+        }
+        if (pendingReload) {
+            soldier.getInventory().reloadSelectedWeapon();
+        }
+        if (pendingShot) {
+            ((Weapon)soldier.getInventory().getItem(selectedInventorySlot)).shoot(soldier);
+        }
+        squad.reportEnemy(soldier, enemyOnTarget);
+    }
+
+    private void clearPendingActions() {
+        pendingSeek = null;
+        pendingRoute = false;
+        pendingVisit = false;
+        pendingRelease = false;
+        pendingShot = false;
+        pendingReload = false;
+        pendingHide = false;
+        pendingSolidify = false;
+        pendingLootTimer = false;
+        pendingAltPathTimer = false;
+    }
+
+    public void wakeUp(WorldBuilder worldBuilder) {
+        this.worldBuilder = worldBuilder;
+        // seeded by the spawn order, so the decisions don't depend on which thread runs them
+        id = worldBuilder.getEnemies().indexOf(soldier);
+        random = new Random(id);
+        behavior = Behavior.LOOT;
+        lootStep = LootStep.CALCULATING_ROUTE;
+    }
+
+    void joinSquad(Squad squad) {
+        this.squad = squad;
+    }
+
+    public void releaseClaims() {
+        // a fallen member leaves its loot and its enemy to the rest of the squad
+        squad.releaseLoot(targetLootId);
+        squad.reportEnemy(soldier, null);
+    }
+
+    private void evaluate() {
+        // every consideration is computed once here, the behaviors only weigh them
+        scanInventory();
+        considerations[THREAT] = evaluateThreat();
+        considerations[LOOT_VALUE] = ((hasHelmet() ? 0 : 1) + (hasArmor() ? 0 : 1) + (isArmed ? 0 : 2)) / 4f;
+        considerations[ZONE_PRESSURE] = evaluateZonePressure();
+        considerations[AMMO] = evaluateAmmo();
+        considerations[SQUAD_THREAT] = evaluateSquadThreat();
+    }
+
+    private void scanInventory() {
+        // a single pass over the inventory picks the weapon, sniper rifles first, then assault rifles, then pistols
+        ArrayList<EntityObject> items = soldier.getInventory().getItems();
+        int bestRank = 0;
+        reserveBullets = 0;
+        for (int i = 0; i < items.size(); i++) {
+            int rank = getWeaponRank(items.get(i));
+            if (rank > bestRank) {
+                bestRank = rank;
+                selectedInventorySlot = i;
+            } else if (items.get(i) instanceof Ammo) {
+                reserveBullets += ((Ammo) items.get(i)).getAmount();
+            }
+        }
+        isArmed = bestRank > 0;
+    }
+
+    private int getWeaponRank(EntityObject item) {
+        if (item instanceof SniperRifle) {
+            return 3;
+        } else if (item instanceof AssaultRifle) {
+            return 2;
+        } else if (item instanceof Pistol) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private float evaluateThreat() {
+        if (!isArmed) {
+            enemyOnTarget = null;
+            return 0;
+        }
+        // a soldier is engaged when it comes close in sight and chased until it gets away, hides or dies
+        Perception perception = match.getPerception();
+        if (enemyOnTarget == null || enemyOnTarget.isDead() || !perception.canSee(soldier, enemyOnTarget) ||
+                MathUtils.distance(soldier.getTickPosition(), enemyOnTarget.getTickPosition()) >= CHASE_RANGE) {
+            enemyOnTarget = null;
+            worldBuilder.getSoldierGrid().getSoldiersAround(soldier.getTickPosition(), ENGAGE_RANGE, soldier,
+                    soldiersAround);
+            // every soldier around is asked about, so the ones not checked yet are queued together
+            int visibleSoldiers = 0;
+            for (int i = 0; i < soldiersAround.size(); i++) {
+                if (!squad.contains(soldiersAround.get(i)) && perception.canSee(soldier, soldiersAround.get(i))) {
+                    soldiersAround.set(visibleSoldiers++, soldiersAround.get(i));
+                }
+            }
+            if (visibleSoldiers > 0) {
+                enemyOnTarget = soldiersAround.get(random.nextInt(visibleSoldiers));
+            }
+        }
+        if (enemyOnTarget == null) {
+            return 0;
+        }
+        float distance = (float) MathUtils.distance(soldier.getTickPosition(), enemyOnTarget.getTickPosition());
+        return 1 - distance / CHASE_RANGE;
     }
 
-    public void update(float delta) {
-//        System.out.println(state.name());
-        switch (state) {
+    private float evaluateZonePressure() {
+        // grows over the second half of the countdown to the next closing, pulling the bots to the safezone center
+        RendezvousController controller = match.getRendezvousController();
+        int halfway = controller.getSECONDS_NEXT() / 2;
+        if (controller.isInRendezvous() || controller.getSecondsToNextEvent() >= halfway) {
+            return 0;
+        }
+        return 1 - (float) controller.getSecondsToNextEvent() / halfway;
+    }
+
+    private float evaluateAmmo() {
+        if (!isArmed) {
+            return 0;
+        }
+        // a bot out of bullets has nothing to fight with until it loots some more
+        Weapon weapon = (Weapon) soldier.getInventory().getItem(selectedInventorySlot);
+        int bullets = Math.max(0, weapon.getBullets()) + reserveBullets;
+        if (bullets == 0) {
+            return 0;
+        }
+        return .5f + .5f * Math.min(1, (float) bullets / Math.max(1, weapon.getMagCapacity()));
+    }
+
+    private float evaluateSquadThreat() {
+        // a member out of the fight moves in on the closest enemy its squad is fighting
+        assistTarget = isArmed ? squad.getKnownEnemy(soldier) : null;
+        if (assistTarget == null) {
+            return 0;
+        }
+        float distance = (float) MathUtils.distance(soldier.getTickPosition(), assistTarget.getTickPosition());
+        return Math.max(0, 1 - distance / ASSIST_RANGE);
+    }
+
+    private void selectBehavior() {
+        Behavior selected = behavior;
+        float selectedScore = behavior.score(considerations) + MOMENTUM;
+        for (Behavior candidate : BEHAVIORS) {
+            float score = candidate.score(considerations);
+            if (score > selectedScore) {
+                selected = candidate;
+                selectedScore = score;
+            }
+        }
+        if (selected != behavior) {
+            behavior = selected;
+            if (behavior == Behavior.LOOT) {
+                // whatever the bot was after before may be far behind now
+                lootStep = LootStep.CALCULATING_ROUTE;
+                isGoingByAltPath = false;
+                isAltPathTimedOut = false;
+            } else if (behavior == Behavior.RENDEZVOUS) {
+                pendingRelease = true;
+            }
+        }
+    }
+
+    private void seekItems() {
+        switch (lootStep) {
             case CALCULATING_ROUTE:
                 calculateRoute();
                 break;
@@ -70,149 +393,124 @@ public class AI {
             case FINDING_PATH:
                 findPath();
                 break;
-            case GOING_TO_RENDEZVOUS:
-                goToRendezvous();
-                break;
-            case CHASING:
-                chase();
-                break;
         }
+    }
 
-        checkAvailableWeapons();
-        checkRendezvousTime();
-        if (state != State.CHASING && state != State.GOING_TO_RENDEZVOUS) {
-            checkSoldiersAround();
-        }
+    private void calculateRoute() {
+        // the loot is claimed through the squad when committing, so two members never pick the same one
+        pendingRoute = true;
+        lootStep = LootStep.SEEKING_LOOT;
     }
 
-    public void wakeUp(WorldBuilder worldBuilder) {
-        this.worldBuilder = worldBuilder;
-        setState(State.CALCULATING_ROUTE);
+    private void planRoute() {
+        LootIndex lootIndex = worldBuilder.getLootIndex();
+        targetLootId = squad.claimLoot(soldier.getTickPosition(), targetLootId);
+        waypointIndex = 0;
+        if (targetLootId == -1) {
+            // nothing is left to claim, the bot heads for the safezone and claims again once it goes back to looting
+            target = null;
+            path = null;
+            behavior = Behavior.RENDEZVOUS;
+            lootStep = LootStep.CALCULATING_ROUTE;
+            return;
+        }
+        target = lootIndex.getPosition(targetLootId, new Vector2());
+        path = worldBuilder.getPathFinder().findPath(soldier.getBody().getPosition(), target);
     }
 
-    private void calculateRoute() {
-        ArrayList<Lootable> loot = worldBuilder.getAllLoot();
-        double nearestLootDistance = 0;
-        Lootable nearestLoot = null;
-
-        for (int i = 0; i < loot.size(); i++) {
-            if (i == 0 || MathUtils.distance(
-                    soldier.getBody().getPosition(), loot.get(i).getBody().getPosition()
-            ) < nearestLootDistance && !spatialMemory.contains(loot.get(i).getBody().getPosition())) {
-                nearestLoot = loot.get(i);
-                nearestLootDistance = MathUtils.distance(
-                        soldier.getBody().getPosition(), loot.get(i).getBody().getPosition()
-                );
+    private Vector2 getNextWaypoint() {
+        // follows the planned path around the obstacles and heads straight for the target once it runs out
+        if (path != null) {
+            while (waypointIndex < path.size() && MathUtils.distance(soldier.getTickPosition(),
+                    waypoint.set(path.getX(waypointIndex), path.getY(waypointIndex))) < .5f) {
+                waypointIndex++;
+            }
+            if (waypointIndex < path.size()) {
+                return waypoint.set(path.getX(waypointIndex), path.getY(waypointIndex));
             }
         }
-        if (nearestLoot != null) {
-            target = nearestLoot.getBody().getPosition();
-        }
-        setState(State.SEEKING_LOOT);
+        return target;
     }
 
     private void seekLoot() {
-        if (MathUtils.distance(soldier.getBody().getPosition(), target) < 1) {
-            spatialMemory.add(target);
-            soldier.getBody().getFixtureList().first().setSensor(false);
-            setState(State.LOOTING);
+        if (MathUtils.distance(soldier.getTickPosition(), target) < 1) {
+            pendingVisit = true;
+            pendingSolidify = true;
+            lootStep = LootStep.LOOTING;
         } else {
-            if (((SteeringBehavior)soldier).seek(target)) {
-                if (soldier.getBody().getLinearVelocity().x == 0 && soldier.getBody().getLinearVelocity().y == 0) {
-                    if (!match.getCamera().frustum.pointInFrustum(
-                            soldier.getBody().getPosition().x, soldier.getBody().getPosition().y, 0
-                    )) {
-                        soldier.getBody().getFixtureList().first().setSensor(true);
-                        ((Enemy)soldier).setVisible(false);
-                        Timer.schedule(new Timer.Task(){
-                            @Override
-                            public void run() {
-                                ((Enemy)soldier).setVisible(true);
-                                soldier.getBody().getFixtureList().first().setSensor(false);
-                            }
-                        }, 1);
-                    } else {
-                        setState(State.FINDING_PATH);
-                    }
+            pendingSeek = getNextWaypoint();
+            if (soldier.getTickVelocity().x == 0 && soldier.getTickVelocity().y == 0) {
+                if (!match.isInView(soldier.getTickPosition().x, soldier.getTickPosition().y)) {
+                    pendingHide = true;
+                } else {
+                    lootStep = LootStep.FINDING_PATH;
                 }
             }
         }
     }
 
+    private void hide() {
+        soldier.getBody().getFixtureList().first().setSensor(true);
+        ((Enemy)soldier).setVisible(false);
+        // getting stuck again while hidden extends the current second instead of stacking another one
+        match.getScheduler().cancel(reappearance);
+        reappearance = match.getScheduler().schedule(reappear, 1);
+    }
+
     private void loot() {
         if (!isLooting) {
             isLooting = true;
-            Timer.schedule(new Timer.Task(){
-                @Override
-                public void run() {
-                    isLooting = false;
-                    setState(State.CALCULATING_ROUTE);
-                }
-            }, 3);
+            pendingLootTimer = true;
         }
     }
 
+    private void scheduleLootTimer() {
+        match.getScheduler().schedule(finishLooting, 3);
+    }
+
     private void findPath() {
         if (!isGoingByAltPath) {
             altTarget = new Vector2();
-            altTarget.x = soldier.getBody().getPosition().x + MathUtils.randomRange(-30, 30);
-            altTarget.y = soldier.getBody().getPosition().y + MathUtils.randomRange(-30, 30);
+            altTarget.x = soldier.getTickPosition().x + random.nextInt(61) - 30;
+            altTarget.y = soldier.getTickPosition().y + random.nextInt(61) - 30;
             isGoingByAltPath = true;
-            Timer.schedule(new Timer.Task(){
-                @Override
-                public void run() {
-                    isAltPathTimedOut = true;
-                }
-            }, 5);
+            pendingAltPathTimer = true;
         } else {
-            if (MathUtils.distance(soldier.getBody().getPosition(), altTarget) < 1 || isAltPathTimedOut) {
-                setState(State.CALCULATING_ROUTE);
+            if (MathUtils.distance(soldier.getTickPosition(), altTarget) < 1 || isAltPathTimedOut) {
+                lootStep = LootStep.CALCULATING_ROUTE;
                 isGoingByAltPath = false;
                 isAltPathTimedOut = false;
             } else {
-                ((SteeringBehavior)soldier).seek(altTarget);
+                pendingSeek = altTarget;
             }
         }
     }
 
-    private void goToRendezvous() {
-        target = new Vector2(41 + match.getRendezvousController()
-                .getSafezoneOffsets()[match.getRendezvousController().getCurrentOffset()].x,
-                41 + match.getRendezvousController()
-                        .getSafezoneOffsets()[match.getRendezvousController().getCurrentOffset()].y);
-        ((SteeringBehavior)soldier).seek(target);
+    private void scheduleAltPathTimer() {
+        match.getScheduler().schedule(timeOutAltPath, 5);
+    }
 
-        if (!match.getRendezvousController().soldierIsInDangerZone(soldier)) {
-            setState(State.SEEKING_LOOT);
+    private void goToRendezvous() {
+        // the flow field steers around the obstacles, a bot off the field heads straight for the center
+        RendezvousController controller = match.getRendezvousController();
+        pendingSeek = controller.getSafezoneFlow().getWaypoint(soldier.getTickPosition(), waypoint);
+        if (pendingSeek == null) {
+            Vector2 offset = controller.getSafezoneOffsets()[controller.getCurrentOffset()];
+            pendingSeek = rendezvousTarget.set(41 + offset.x, 41 + offset.y);
         }
     }
 
     private void chase() {
-        if (MathUtils.distance(soldier.getBody().getPosition(), enemyOnTarget.getBody().getPosition()) > 4) {
-            if (MathUtils.distance(soldier.getBody().getPosition(), enemyOnTarget.getBody().getPosition()) < 7) {
-                ((SteeringBehavior)soldier).seek(enemyOnTarget.getBody().getPosition());
-            } else {
-                setState(State.CALCULATING_ROUTE);
-            }
+        if (MathUtils.distance(soldier.getTickPosition(), enemyOnTarget.getTickPosition()) > SHOOT_RANGE) {
+            pendingSeek = enemyOnTarget.getTickPosition();
         }
-        checkAvailableWeapons();
-        if (hasWeapon()) {
-            if (soldier.getInventory().getBulletsInMagazine() < 1) {
-                soldier.getInventory().reloadSelectedWeapon();
-            } else {
-                ((Weapon)soldier.getInventory().getItem(selectedInventorySlot)).shoot(soldier);
-            }
-        }
-        if (enemyOnTarget.isDead()) {
-            setState(State.CALCULATING_ROUTE);
+        if (soldier.getInventory().getBulletsInMagazine() < 1) {
+            pendingReload = true;
+        } else {
+            pendingShot = true;
         }
     }
 
-    private void setState(State state) {
-        previousState = this.state;
-        this.state = state;
-    }
-
     public void searchForItems(ArrayList<EntityObject> items) {
         Collections.sort(items);
         for (int i = 0; i < items.size(); i++) {
@@ -342,48 +640,4 @@ public class AI {
     public int getSelectedInventorySlot() {
         return selectedInventorySlot;
     }
-
-    private void checkAvailableWeapons() {
-        ArrayList<EntityObject> items = soldier.getInventory().getItems();
-        for (int i = 0; i < soldier.getInventory().getItems().size(); i++) {
-            if (SniperRifle.class.isAssignableFrom(items.get(i).getClass())) {
-                selectedInventorySlot = i;
-                return;
-            }
-        }
-        for (int i = 0; i < soldier.getInventory().getItems().size(); i++) {
-             if (AssaultRifle.class.isAssignableFrom(items.get(i).getClass())) {
-                 selectedInventorySlot = i;
-                 return;
-            }
-        }
-        for (int i = 0; i < soldier.getInventory().getItems().size(); i++) {
-            if (Pistol.class.isAssignableFrom(items.get(i).getClass())) {
-                selectedInventorySlot = i;
-                return;
-            }
-        }
-    }
-
-    private void checkRendezvousTime() {
-        if (match.getRendezvousController().getSecondsToNextEvent() <
-                match.getRendezvousController().getSECONDS_NEXT() / 2 &&
-                !match.getRendezvousController().isInRendezvous()) {
-            setState(State.GOING_TO_RENDEZVOUS);
-        }
-    }
-
-    private void checkSoldiersAround() {
-        ArrayList<Soldier> soldiersAround = new ArrayList<>();
-        for (Soldier enemySoldier : worldBuilder.getSoldiers()) {
-            if (MathUtils.distance(soldier.getBody().getPosition(), enemySoldier.getBody().getPosition()) < 5 &&
-                    hasWeapon() && soldier != enemySoldier && !enemySoldier.isDead()) {
-                soldiersAround.add(enemySoldier);
-            }
-        }
-        if (soldiersAround.size() > 0) {
-            enemyOnTarget = soldiersAround.get(MathUtils.randomRange(0, soldiersAround.size() - 1));
-            setState(State.CHASING);
-        }
-    }
 }
@@ -0,0 +1,43 @@
+package com.bressio.rendezvous.events;
+
+import com.bressio.rendezvous.entities.Enemy;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+public class AIDecisionTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private static final int BOTS_PER_TASK = 8;
+
+    private final ArrayList<Enemy> enemies;
+    private final AILevelOfDetail levelOfDetail;
+    private final int from;
+    private final int to;
+
+    public AIDecisionTask(ArrayList<Enemy> enemies, AILevelOfDetail levelOfDetail) {
+        this(enemies, levelOfDetail, 0, enemies.size());
+    }
+
+    private AIDecisionTask(ArrayList<Enemy> enemies, AILevelOfDetail levelOfDetail, int from, int to) {
+        this.enemies = enemies;
+        this.levelOfDetail = levelOfDetail;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= BOTS_PER_TASK) {
+            for (int i = from; i < to; i++) {
+                if (!enemies.get(i).isDead()) {
+                    enemies.get(i).getAi().decide(levelOfDetail);
+                }
+            }
+        } else {
+            int middle = (from + to) >>> 1;
+            invokeAll(new AIDecisionTask(enemies, levelOfDetail, from, middle),
+                    new AIDecisionTask(enemies, levelOfDetail, middle, to));
+        }
+    }
+}
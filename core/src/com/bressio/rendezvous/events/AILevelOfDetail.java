@@ -0,0 +1,40 @@
+package com.bressio.rendezvous.events;
+
+import com.badlogic.gdx.math.Vector2;
+import com.bressio.rendezvous.entities.Soldier;
+
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.pScale;
+import static com.bressio.rendezvous.scheme.PlayerSettings.GAME_WIDTH;
+
+public class AILevelOfDetail {
+
+    // about a screen around the player, the bots in it decide every tick
+    private static final float NEAR_RANGE = pScale(GAME_WIDTH);
+    private static final float MID_RANGE = NEAR_RANGE * 2;
+    private static final int MID_INTERVAL = 3;
+    private static final int FAR_INTERVAL = 12;
+
+    private final Soldier focus;
+    private final boolean isFullFidelity;
+    private long tick;
+
+    public AILevelOfDetail(Soldier focus, boolean isFullFidelity) {
+        this.focus = focus;
+        this.isFullFidelity = isFullFidelity || focus == null;
+    }
+
+    public void advance() {
+        tick++;
+    }
+
+    boolean isDue(int botId, Vector2 position, boolean isEngaged) {
+        if (isFullFidelity || isEngaged) {
+            return true;
+        }
+        float distance = focus.getTickPosition().dst2(position);
+        int interval = distance < NEAR_RANGE * NEAR_RANGE ? 1 :
+                distance < MID_RANGE * MID_RANGE ? MID_INTERVAL : FAR_INTERVAL;
+        // offset by the bot id, so the bots sharing an interval decide on different ticks
+        return (tick + botId) % interval == 0;
+    }
+}
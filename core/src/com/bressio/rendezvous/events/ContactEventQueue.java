@@ -0,0 +1,101 @@
+package com.bressio.rendezvous.events;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+import java.util.Arrays;
+
+class ContactEventQueue {
+
+    // events are stored in parallel arrays used as a ring, so recording a contact doesn't allocate
+    private short[] categoriesA;
+    private short[] categoriesB;
+    private Object[] subjectsA;
+    private Object[] subjectsB;
+    private boolean[] endings;
+    private int head;
+    private int size;
+
+    ContactEventQueue(int capacity) {
+        categoriesA = new short[capacity];
+        categoriesB = new short[capacity];
+        subjectsA = new Object[capacity];
+        subjectsB = new Object[capacity];
+        endings = new boolean[capacity];
+    }
+
+    void add(Contact contact, boolean isEndingContact) {
+        if (size == endings.length) {
+            grow();
+        }
+        Fixture fixtureA = contact.getFixtureA();
+        Fixture fixtureB = contact.getFixtureB();
+        int index = (head + size) % endings.length;
+        categoriesA[index] = fixtureA.getFilterData().categoryBits;
+        categoriesB[index] = fixtureB.getFilterData().categoryBits;
+        subjectsA[index] = fixtureA.getUserData();
+        subjectsB[index] = fixtureB.getUserData();
+        endings[index] = isEndingContact;
+        size++;
+    }
+
+    private void grow() {
+        // an ending contact must never be dropped, so a full ring is unrolled into a larger one
+        int capacity = endings.length * 2;
+        categoriesA = unroll(categoriesA, capacity);
+        categoriesB = unroll(categoriesB, capacity);
+        subjectsA = unroll(subjectsA, capacity);
+        subjectsB = unroll(subjectsB, capacity);
+        endings = unroll(endings, capacity);
+        head = 0;
+    }
+
+    private short[] unroll(short[] events, int capacity) {
+        short[] unrolled = Arrays.copyOfRange(events, head, head + capacity);
+        System.arraycopy(events, 0, unrolled, events.length - head, head);
+        return unrolled;
+    }
+
+    private Object[] unroll(Object[] events, int capacity) {
+        Object[] unrolled = Arrays.copyOfRange(events, head, head + capacity);
+        System.arraycopy(events, 0, unrolled, events.length - head, head);
+        return unrolled;
+    }
+
+    private boolean[] unroll(boolean[] events, int capacity) {
+        boolean[] unrolled = Arrays.copyOfRange(events, head, head + capacity);
+        System.arraycopy(events, 0, unrolled, events.length - head, head);
+        return unrolled;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    short getCategoryA() {
+        return categoriesA[head];
+    }
+
+    short getCategoryB() {
+        return categoriesB[head];
+    }
+
+    Object getSubjectA() {
+        return subjectsA[head];
+    }
+
+    Object getSubjectB() {
+        return subjectsB[head];
+    }
+
+    boolean isEndingContact() {
+        return endings[head];
+    }
+
+    void poll() {
+        subjectsA[head] = null;
+        subjectsB[head] = null;
+        head = (head + 1) % endings.length;
+        size--;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bressio.rendezvous.events;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.bressio.rendezvous.entities.Soldier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.DEFAULT_TAG;
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.TICK_RATE;
+
+public class Perception {
+
+    private static final int RAYCASTS_PER_TICK = 24;
+    private static final int TIME_TO_LIVE = TICK_RATE / 4;
+    private static final long NEVER = -1;
+
+    private final World world;
+    private final ArrayList<Soldier> soldiers;
+    private final ObjectIntMap<Soldier> indexes;
+
+    // one entry per pair of soldiers, both orders share it as sight goes both ways
+    private final boolean[] visible;
+    private final long[] checkedTicks;
+    private final long[] requestedTicks;
+
+    // each observer only writes to its own list, so the bots can ask for sight checks while deciding in parallel
+    private final IntArray[] requests;
+    private final LongArray queue;
+    private long tick;
+
+    private boolean isBlocked;
+    private final RayCastCallback sightCallback = new RayCastCallback() {
+        @Override
+        public float reportRayFixture(Fixture fixture, Vector2 point, Vector2 normal, float fraction) {
+            // only the solid obstacles block the sight, the soldiers, loot, water and sensors don't
+            if (fixture.isSensor() || (fixture.getFilterData().categoryBits & DEFAULT_TAG) == 0) {
+                return -1;
+            }
+            isBlocked = true;
+            return 0;
+        }
+    };
+
+    public Perception(World world, ArrayList<Soldier> soldiers) {
+        this.world = world;
+        this.soldiers = soldiers;
+        indexes = new ObjectIntMap<>(soldiers.size());
+        for (int i = 0; i < soldiers.size(); i++) {
+            indexes.put(soldiers.get(i), i);
+        }
+        visible = new boolean[soldiers.size() * soldiers.size()];
+        checkedTicks = new long[visible.length];
+        requestedTicks = new long[visible.length];
+        Arrays.fill(checkedTicks, NEVER);
+        Arrays.fill(requestedTicks, NEVER);
+        requests = new IntArray[soldiers.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new IntArray();
+        }
+        queue = new LongArray();
+    }
+
+    public boolean canSee(Soldier observer, Soldier target) {
+        // answers from the cache, an unknown or expired pair is queued and checked on a later tick
+        int observerIndex = indexes.get(observer, -1);
+        int targetIndex = indexes.get(target, -1);
+        if (observerIndex == -1 || targetIndex == -1) {
+            return false;
+        }
+        int pair = getPair(observerIndex, targetIndex);
+        if (checkedTicks[pair] == NEVER || tick - checkedTicks[pair] > TIME_TO_LIVE) {
+            requests[observerIndex].add(pair);
+        }
+        return visible[pair];
+    }
+
+    public void update() {
+        tick++;
+        queue.clear();
+        for (IntArray observerRequests : requests) {
+            for (int i = 0; i < observerRequests.size; i++) {
+                int pair = observerRequests.get(i);
+                if (requestedTicks[pair] != tick) {
+                    requestedTicks[pair] = tick;
+                    queue.add(getPriority(pair) << 32 | pair);
+                }
+            }
+            observerRequests.clear();
+        }
+        // the pairs never seen go first, then the closest ones, the rest ask again on the next tick
+        queue.sort();
+        for (int i = 0; i < Math.min(queue.size, RAYCASTS_PER_TICK); i++) {
+            check((int) queue.get(i));
+        }
+    }
+
+    private long getPriority(int pair) {
+        Vector2 from = soldiers.get(pair / soldiers.size()).getTickPosition();
+        Vector2 to = soldiers.get(pair % soldiers.size()).getTickPosition();
+        long distance = Math.min((long) (from.dst(to) * 1000), Integer.MAX_VALUE >> 1);
+        return checkedTicks[pair] == NEVER ? distance : distance | 1L << 30;
+    }
+
+    private void check(int pair) {
+        Vector2 from = soldiers.get(pair / soldiers.size()).getTickPosition();
+        Vector2 to = soldiers.get(pair % soldiers.size()).getTickPosition();
+        isBlocked = false;
+        if (!from.epsilonEquals(to, 0)) {
+            world.rayCast(sightCallback, from, to);
+        }
+        visible[pair] = !isBlocked;
+        checkedTicks[pair] = tick;
+    }
+
+    private int getPair(int a, int b) {
+        return Math.min(a, b) * soldiers.size() + Math.max(a, b);
+    }
+}
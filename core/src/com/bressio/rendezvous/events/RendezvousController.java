@@ -6,7 +6,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.bressio.rendezvous.entities.Enemy;
 import com.bressio.rendezvous.entities.Player;
 import com.bressio.rendezvous.entities.Soldier;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
+import com.bressio.rendezvous.navigation.FlowField;
 import com.bressio.rendezvous.scenes.Match;
 import com.bressio.rendezvous.scheme.PhysicsAdapter;
 
@@ -29,12 +31,15 @@ public class RendezvousController {
     private Texture dangerZone;
 
     private Vector2[] safezoneOffsets;
+    private FlowField safezoneFlow;
+    private int safezoneFlowOffset;
 
     private Player player;
     private float damageTimeCount;
 
     private final int SAFEZONE_RANGE = 30;
     private final int SECONDS_NEXT = 60;
+    private final int FLOW_CELLS_PER_TICK = 4096;
 
     public RendezvousController(Match match) {
         this.match = match;
@@ -49,12 +54,21 @@ public class RendezvousController {
         safezone = match.getResources().getTexture(ResourceHandler.TexturePath.SAFEZONE);
         dangerZone = match.getResources().getTexture(ResourceHandler.TexturePath.DANGER_ZONE);
         safezoneOffsets = generateSafezoneOffsets();
+        safezoneFlow = new FlowField(match.getWorldBuilder().getNavigationGrid());
+        safezoneFlowOffset = -1;
+        updateSafezoneFlow();
     }
 
     private void setupHud() {
         rendezvousLabel = match.getI18n().getBundle().get("nextRendezvous");
-        match.getHud().updateEventLabel(rendezvousLabel, isInRendezvous());
-        match.getHud().updateTimeLabel(PhysicsAdapter.formatSeconds(secondsToNextEvent, false));
+        updateHud(secondsToNextEvent);
+    }
+
+    private void updateHud(int secondsToNextEvent) {
+        if (!match.isHeadless()) {
+            match.getHud().updateEventLabel(rendezvousLabel, isInRendezvous());
+            match.getHud().updateTimeLabel(PhysicsAdapter.formatSeconds(secondsToNextEvent, false));
+        }
     }
 
     private Vector2[] generateSafezoneOffsets() {
@@ -84,13 +98,17 @@ public class RendezvousController {
                 } else {
                     rendezvousLabel = match.getI18n().getBundle().get("nextRendezvous");
                 }
-                match.getHud().updateEventLabel(rendezvousLabel, isInRendezvous());
                 secondsToNextEvent = SECONDS_NEXT;
-                match.getHud().updateTimeLabel(PhysicsAdapter.formatSeconds(secondsToNextEvent, false));
+                updateHud(secondsToNextEvent);
+                updateSafezoneFlow();
             }
+            // the field is finished within a few seconds, long before the bots are sent to the safezone
+            safezoneFlow.expand(FLOW_CELLS_PER_TICK);
 
             if (rendezvousTimeCount >= 1) {
-                match.getHud().updateTimeLabel(PhysicsAdapter.formatSeconds(secondsToNextEvent - 1, false));
+                if (!match.isHeadless()) {
+                    match.getHud().updateTimeLabel(PhysicsAdapter.formatSeconds(secondsToNextEvent - 1, false));
+                }
                 secondsToNextEvent--;
                 rendezvousTimeCount = 0;
             }
@@ -98,13 +116,22 @@ public class RendezvousController {
         dealDamage(delta);
     }
 
+    private void updateSafezoneFlow() {
+        // built once per safezone, every bot heading there then steers by a lookup
+        if (getCurrentOffset() != safezoneFlowOffset) {
+            safezoneFlowOffset = getCurrentOffset();
+            Vector2 offset = safezoneOffsets[safezoneFlowOffset];
+            safezoneFlow.setGoal(new Vector2(offset.x + 41, offset.y + 41));
+        }
+    }
+
     private void dealDamage(float delta) {
         damageTimeCount += delta;
         if (damageTimeCount >= 1) {
-            if (canDamageSoldier(8, 3, 7.5f, player) ||
+            if (player != null && (canDamageSoldier(8, 3, 7.5f, player) ||
                     canDamageSoldier(6, 2, 15.3f, player) ||
                     canDamageSoldier(4, 1, 22.8f, player) ||
-                    canDamageSoldier(2, 0, 30.5f, player)) {
+                    canDamageSoldier(2, 0, 30.5f, player))) {
                 player.takeDangerZoneDamage();
             }
 
@@ -121,30 +148,28 @@ public class RendezvousController {
     }
 
     private boolean canDamageSoldier(int event, int offsetIndex, float distance, Soldier soldier) {
-        return (this.event == event && distance(soldier.getBody().getPosition(),
+        return (this.event == event && distance(soldier.getTickPosition(),
                 new Vector2(safezoneOffsets[offsetIndex].x + 41, safezoneOffsets[offsetIndex].y + 41)) > distance);
     }
 
     public boolean soldierIsInDangerZone(Soldier soldier) {
         if (event == 1 || event == 2) {
-            return (distance(soldier.getBody().getPosition(),
+            return (distance(soldier.getTickPosition(),
                     new Vector2(safezoneOffsets[0].x + 41, safezoneOffsets[0].y + 41)) > 30.5f);
         } else if (event == 3 || event == 4) {
-            return (distance(soldier.getBody().getPosition(),
+            return (distance(soldier.getTickPosition(),
                     new Vector2(safezoneOffsets[1].x + 41, safezoneOffsets[1].y + 41)) > 22.8f);
         } else if (event == 5 || event == 6) {
-            return (distance(soldier.getBody().getPosition(),
+            return (distance(soldier.getTickPosition(),
                     new Vector2(safezoneOffsets[2].x + 41, safezoneOffsets[2].y + 41)) > 15.3f);
         } else if (event == 7 || event == 8) {
-            return (distance(soldier.getBody().getPosition(),
+            return (distance(soldier.getTickPosition(),
                     new Vector2(safezoneOffsets[3].x + 41, safezoneOffsets[3].y + 41)) > 7.5f);
         }
         return false;
     }
 
     public void render(float delta) {
-        match.getBatch().begin();
-
         switch (event) {
             case 2:
                 drawSafezone(2, 2, 0, 4, safezoneOffsets[0]);
@@ -159,7 +184,6 @@ public class RendezvousController {
                 drawSafezone(3.5f, .5f, 1.5f, 2.5f, safezoneOffsets[3]);
                 break;
         }
-        match.getBatch().end();
     }
 
     private void drawSafezone(float sZXScale, float sZSScale, float dZP1Scale, float dZP2Scale, Vector2 offset) {
@@ -170,27 +194,27 @@ public class RendezvousController {
         int safezoneSize = safezone.getWidth();
         int dangerZoneSize = 1000;
 
-        match.getBatch().draw(safezone,
+        match.getRenderQueue().submit(RenderQueue.Layer.SAFEZONE, safezone,
                 pScaleCenter(safezoneSize * sZXScale) - safezoneWidth + offset.x,
                 pScaleCenter(safezoneSize * sZXScale) - safezoneWidth + offset.y,
                 safezoneWidth * sZSScale,
                 safezoneWidth * sZSScale);
-        match.getBatch().draw(dangerZone,
+        match.getRenderQueue().submit(RenderQueue.Layer.SAFEZONE, dangerZone,
                 pScaleCenter(safezoneSize * dZP1Scale) + offset.x,
                 -pScaleCenter(safezoneSize * 2) + offset.y,
                 -dangerZoneWidth * dangerZoneSize,
                 dangerZoneWidth * dangerZoneSize);
-        match.getBatch().draw(dangerZone,
+        match.getRenderQueue().submit(RenderQueue.Layer.SAFEZONE, dangerZone,
                 pScaleCenter(safezoneSize * dZP2Scale) + offset.x,
                 -pScaleCenter(safezoneSize * 2) + offset.y,
                 dangerZoneWidth * dangerZoneSize,
                 dangerZoneWidth * dangerZoneSize);
-        match.getBatch().draw(dangerZone,
+        match.getRenderQueue().submit(RenderQueue.Layer.SAFEZONE, dangerZone,
                 pScaleCenter(safezoneSize * dZP1Scale) + offset.x,
                 pScaleCenter(safezoneSize * dZP2Scale) + offset.y,
                 safezoneWidth * sZSScale,
                 dangerZoneWidth * dangerZoneSize);
-        match.getBatch().draw(dangerZone,
+        match.getRenderQueue().submit(RenderQueue.Layer.SAFEZONE, dangerZone,
                 pScaleCenter(safezoneSize * dZP1Scale) + offset.x,
                 pScaleCenter(safezoneSize * dZP1Scale) + offset.y,
                 safezoneWidth * sZSScale,
@@ -257,6 +281,10 @@ public class RendezvousController {
         return 0;
     }
 
+    public FlowField getSafezoneFlow() {
+        return safezoneFlow;
+    }
+
     public int getSECONDS_NEXT() {
         return SECONDS_NEXT;
     }
@@ -0,0 +1,110 @@
+package com.bressio.rendezvous.events;
+
+import com.badlogic.gdx.math.Vector2;
+import com.bressio.rendezvous.entities.Enemy;
+import com.bressio.rendezvous.entities.Soldier;
+import com.bressio.rendezvous.forge.LootIndex;
+import com.bressio.rendezvous.forge.WorldBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+public class Squad {
+
+    private final WorldBuilder worldBuilder;
+    private final ArrayList<Enemy> members;
+
+    // the blackboard is only written while the bots commit one by one, and read while they decide in parallel
+    private final BitSet visitedLoot;
+    private final BitSet claimedLoot;
+    private final BitSet unavailableLoot;
+    private final ArrayList<Soldier> sightings;
+
+    public Squad(WorldBuilder worldBuilder) {
+        this.worldBuilder = worldBuilder;
+        members = new ArrayList<>();
+        visitedLoot = new BitSet();
+        claimedLoot = new BitSet();
+        unavailableLoot = new BitSet();
+        sightings = new ArrayList<>();
+    }
+
+    public void add(Enemy member) {
+        members.add(member);
+        sightings.add(null);
+        member.getAi().joinSquad(this);
+    }
+
+    public boolean contains(Soldier soldier) {
+        return members.contains(soldier);
+    }
+
+    public boolean isAlive() {
+        for (Enemy member : members) {
+            if (!member.isDead()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int claimLoot(Vector2 position, int previousLootId) {
+        // a member never heads for the loot another one already claimed or looted
+        releaseLoot(previousLootId);
+        LootIndex lootIndex = worldBuilder.getLootIndex();
+        int lootId = lootIndex.getNearestUnvisited(position, unavailableLoot);
+        if (lootId == -1) {
+            // every loot was already visited, so the squad starts a new round over the map
+            visitedLoot.clear();
+            unavailableLoot.clear();
+            unavailableLoot.or(claimedLoot);
+            lootId = lootIndex.getNearestUnvisited(position, unavailableLoot);
+        }
+        if (lootId != -1) {
+            claimedLoot.set(lootId);
+            unavailableLoot.set(lootId);
+        }
+        return lootId;
+    }
+
+    void visitLoot(int lootId) {
+        if (lootId != -1) {
+            visitedLoot.set(lootId);
+            claimedLoot.clear(lootId);
+        }
+    }
+
+    void releaseLoot(int lootId) {
+        if (lootId != -1 && claimedLoot.get(lootId)) {
+            claimedLoot.clear(lootId);
+            if (!visitedLoot.get(lootId)) {
+                unavailableLoot.clear(lootId);
+            }
+        }
+    }
+
+    void reportEnemy(Soldier member, Soldier enemy) {
+        sightings.set(members.indexOf(member), enemy);
+    }
+
+    Soldier getKnownEnemy(Soldier member) {
+        // the closest soldier any other member is fighting
+        Soldier knownEnemy = null;
+        float closestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < sightings.size(); i++) {
+            Soldier enemy = sightings.get(i);
+            if (enemy != null && members.get(i) != member && !enemy.isDead()) {
+                float distance = member.getTickPosition().dst2(enemy.getTickPosition());
+                if (distance < closestDistance) {
+                    knownEnemy = enemy;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return knownEnemy;
+    }
+
+    public ArrayList<Enemy> getMembers() {
+        return members;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bressio.rendezvous.events;
+
+import java.util.Arrays;
+
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.TICK_RATE;
+
+public class TickScheduler {
+
+    public static final long NO_TASK = -1;
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    // tasks are kept in parallel arrays and recycled through a free list, so scheduling doesn't allocate
+    private Runnable[] tasks;
+    private long[] dueTicks;
+    private int[] generations;
+    private int[] nextTasks;
+    private int freeTask;
+
+    private final int[] slots;
+    private long currentTick;
+
+    public TickScheduler() {
+        slots = new int[WHEEL_SIZE];
+        Arrays.fill(slots, NONE);
+        freeTask = NONE;
+        grow(64);
+    }
+
+    private void grow(int capacity) {
+        int previousCapacity = tasks == null ? 0 : tasks.length;
+        tasks = tasks == null ? new Runnable[capacity] : Arrays.copyOf(tasks, capacity);
+        dueTicks = dueTicks == null ? new long[capacity] : Arrays.copyOf(dueTicks, capacity);
+        generations = generations == null ? new int[capacity] : Arrays.copyOf(generations, capacity);
+        nextTasks = nextTasks == null ? new int[capacity] : Arrays.copyOf(nextTasks, capacity);
+        for (int i = capacity - 1; i >= previousCapacity; i--) {
+            nextTasks[i] = freeTask;
+            freeTask = i;
+        }
+    }
+
+    public long schedule(Runnable task, float delaySeconds) {
+        if (freeTask == NONE) {
+            grow(tasks.length * 2);
+        }
+        int index = freeTask;
+        freeTask = nextTasks[index];
+
+        // a task never runs on the tick it was scheduled in
+        long dueTick = currentTick + Math.max(1, Math.round(delaySeconds * TICK_RATE));
+        int slot = (int) (dueTick & WHEEL_MASK);
+        tasks[index] = task;
+        dueTicks[index] = dueTick;
+        nextTasks[index] = slots[slot];
+        slots[slot] = index;
+        return (long) generations[index] << 32 | index;
+    }
+
+    public void cancel(long handle) {
+        int index = (int) handle;
+        if (handle != NO_TASK && generations[index] == (int) (handle >>> 32)) {
+            // the slot is released when the wheel reaches it
+            tasks[index] = null;
+        }
+    }
+
+    public boolean isPending(long handle) {
+        int index = (int) handle;
+        return handle != NO_TASK && generations[index] == (int) (handle >>> 32) && tasks[index] != null;
+    }
+
+    public void advance() {
+        currentTick++;
+        int slot = (int) (currentTick & WHEEL_MASK);
+        int index = slots[slot];
+        slots[slot] = NONE;
+
+        while (index != NONE) {
+            int next = nextTasks[index];
+            if (tasks[index] != null && dueTicks[index] > currentTick) {
+                // due in a later turn of the wheel
+                nextTasks[index] = slots[slot];
+                slots[slot] = index;
+            } else {
+                Runnable task = tasks[index];
+                release(index);
+                if (task != null) {
+                    task.run();
+                }
+            }
+            index = next;
+        }
+    }
+
+    private void release(int index) {
+        tasks[index] = null;
+        generations[index]++;
+        nextTasks[index] = freeTask;
+        freeTask = index;
+    }
+}
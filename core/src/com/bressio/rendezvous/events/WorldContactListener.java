@@ -11,114 +11,133 @@ import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
 public class WorldContactListener implements ContactListener {
 
     private Match match;
+    private ContactEventQueue events;
 
     public WorldContactListener(Match match) {
         this.match = match;
+        events = new ContactEventQueue(256);
     }
 
-    private void sendContactMessage(Contact contact, boolean isEndingContact) {
-        Fixture fixtureA = contact.getFixtureA();
-        Fixture fixtureB = contact.getFixtureB();
+    public void dispatch() {
+        // contacts are only recorded during the world step, the game reacts to them once it is over
+        while (!events.isEmpty()) {
+            sendContactMessage(events.getCategoryA(), events.getSubjectA(),
+                    events.getCategoryB(), events.getSubjectB(), events.isEndingContact());
+            events.poll();
+        }
+    }
 
-        int combination = fixtureA.getFilterData().categoryBits | fixtureB.getFilterData().categoryBits;
+    private void sendContactMessage(short categoryA, Object subjectA, short categoryB, Object subjectB,
+                                    boolean isEndingContact) {
+        int combination = categoryA | categoryB;
 
         switch (combination){
             case PLAYER_TAG | BUILDING_TAG:
             case PLAYER_TAG | LOOT_TAG:
-                if(fixtureA.getFilterData().categoryBits == PLAYER_TAG) {
+                if(categoryA == PLAYER_TAG) {
                     if (!isEndingContact) {
-                        ((InteractiveTile) fixtureB.getUserData()).onPlayerEnter();
+                        ((InteractiveTile) subjectB).onPlayerEnter();
                     } else {
-                        ((InteractiveTile) fixtureB.getUserData()).onPlayerLeave();
+                        ((InteractiveTile) subjectB).onPlayerLeave();
                     }
                 } else {
                     if (!isEndingContact) {
-                        ((InteractiveTile) fixtureA.getUserData()).onPlayerEnter();
+                        ((InteractiveTile) subjectA).onPlayerEnter();
                     } else {
-                        ((InteractiveTile) fixtureA.getUserData()).onPlayerLeave();
+                        ((InteractiveTile) subjectA).onPlayerLeave();
                     }
                 }
                 break;
             case BULLET_TAG | DEFAULT_TAG:
             case BULLET_TAG | LOOT_TAG:
-                if(fixtureA.getFilterData().categoryBits == BULLET_TAG) {
-                    ((Bullet) fixtureA.getUserData()).destroy();
+                // bullets react on impact only, their ending contacts may come from a body going back to the pool
+                if (isEndingContact) {
+                    break;
+                }
+                if(categoryA == BULLET_TAG) {
+                    ((Bullet) subjectA).destroy();
                 } else {
-                    ((Bullet) fixtureB.getUserData()).destroy();
+                    ((Bullet) subjectB).destroy();
                 }
                 break;
             case ENEMY_TAG | LOOT_TAG:
-                if(fixtureA.getFilterData().categoryBits == ENEMY_TAG) {
+                if(categoryA == ENEMY_TAG) {
                     if (!isEndingContact) {
-                        ((InteractiveTile) fixtureB.getUserData()).onEnemyEnter((Enemy)fixtureA.getUserData());
+                        ((InteractiveTile) subjectB).onEnemyEnter((Enemy)subjectA);
                     } else {
-                        ((InteractiveTile) fixtureB.getUserData()).onEnemyLeave((Enemy)fixtureA.getUserData());
+                        ((InteractiveTile) subjectB).onEnemyLeave((Enemy)subjectA);
                     }
                 } else {
                     if (!isEndingContact) {
-                        ((InteractiveTile) fixtureA.getUserData()).onEnemyEnter((Enemy)fixtureB.getUserData());
+                        ((InteractiveTile) subjectA).onEnemyEnter((Enemy)subjectB);
                     } else {
-                        ((InteractiveTile) fixtureA.getUserData()).onEnemyLeave((Enemy)fixtureB.getUserData());
+                        ((InteractiveTile) subjectA).onEnemyLeave((Enemy)subjectB);
                     }
                 }
                 break;
             case ENEMY_TAG | BULLET_TAG:
-                if(fixtureA.getFilterData().categoryBits == ENEMY_TAG) {
-                    if (!((Enemy) fixtureA.getUserData()).isDead() && !((Bullet) fixtureB.getUserData()).isDestroyed()) {
-                        if (((Bullet) fixtureB.getUserData()).getWeapon().getLastSoldierToShoot() != fixtureA.getUserData()) {
-                            ((Enemy) fixtureA.getUserData()).getShot((Bullet)fixtureB.getUserData());
-                            ((Bullet) fixtureB.getUserData()).destroy();
+                if (isEndingContact) {
+                    break;
+                }
+                if(categoryA == ENEMY_TAG) {
+                    if (!((Enemy) subjectA).isDead() && !((Bullet) subjectB).isDestroyed()) {
+                        if (((Bullet) subjectB).getWeapon().getLastSoldierToShoot() != subjectA) {
+                            ((Enemy) subjectA).getShot((Bullet)subjectB);
+                            ((Bullet) subjectB).destroy();
                         }
                     }
-                } else if (!((Enemy) fixtureB.getUserData()).isDead() && !((Bullet) fixtureA.getUserData()).isDestroyed()) {
-                    if (((Bullet) fixtureA.getUserData()).getWeapon().getLastSoldierToShoot() != fixtureB.getUserData()) {
-                        ((Enemy) fixtureB.getUserData()).getShot((Bullet)fixtureA.getUserData());
-                        ((Bullet) fixtureA.getUserData()).destroy();
+                } else if (!((Enemy) subjectB).isDead() && !((Bullet) subjectA).isDestroyed()) {
+                    if (((Bullet) subjectA).getWeapon().getLastSoldierToShoot() != subjectB) {
+                        ((Enemy) subjectB).getShot((Bullet)subjectA);
+                        ((Bullet) subjectA).destroy();
                     }
                 }
                 break;
             case PLAYER_TAG | BULLET_TAG:
-                if(fixtureA.getFilterData().categoryBits == PLAYER_TAG) {
-                    if (!match.getPlayer().isDead() && !((Bullet) fixtureB.getUserData()).isDestroyed()) {
-                        if (((Bullet) fixtureB.getUserData()).getWeapon().getLastSoldierToShoot() != match.getPlayer()) {
-                            match.getPlayer().getShot((Bullet)fixtureB.getUserData());
-                            ((Bullet) fixtureB.getUserData()).destroy();
+                if (isEndingContact) {
+                    break;
+                }
+                if(categoryA == PLAYER_TAG) {
+                    if (!match.getPlayer().isDead() && !((Bullet) subjectB).isDestroyed()) {
+                        if (((Bullet) subjectB).getWeapon().getLastSoldierToShoot() != match.getPlayer()) {
+                            match.getPlayer().getShot((Bullet)subjectB);
+                            ((Bullet) subjectB).destroy();
                         }
                     }
-                } else if (!match.getPlayer().isDead() && !((Bullet) fixtureA.getUserData()).isDestroyed()) {
-                    if (((Bullet) fixtureA.getUserData()).getWeapon().getLastSoldierToShoot() != match.getPlayer()) {
-                        match.getPlayer().getShot((Bullet)fixtureA.getUserData());
-                        ((Bullet) fixtureA.getUserData()).destroy();
+                } else if (!match.getPlayer().isDead() && !((Bullet) subjectA).isDestroyed()) {
+                    if (((Bullet) subjectA).getWeapon().getLastSoldierToShoot() != match.getPlayer()) {
+                        match.getPlayer().getShot((Bullet)subjectA);
+                        ((Bullet) subjectA).destroy();
                     }
                 }
                 break;
             case ENEMY_TAG | PLAYER_TAG:
-                if(fixtureA.getFilterData().categoryBits == PLAYER_TAG) {
+                if(categoryA == PLAYER_TAG) {
                     if (!isEndingContact) {
-                        ((Enemy) fixtureB.getUserData()).onPlayerEnter();
+                        ((Enemy) subjectB).onPlayerEnter();
                     } else {
-                        ((Enemy) fixtureB.getUserData()).onPlayerLeave();
+                        ((Enemy) subjectB).onPlayerLeave();
                     }
                 } else {
                     if (!isEndingContact) {
-                        ((Enemy) fixtureA.getUserData()).onPlayerEnter();
+                        ((Enemy) subjectA).onPlayerEnter();
                     } else {
-                        ((Enemy) fixtureA.getUserData()).onPlayerLeave();
+                        ((Enemy) subjectA).onPlayerLeave();
                     }
                 }
                 break;
             case ENEMY_TAG:
-                if(fixtureA.getFilterData().categoryBits == ENEMY_TAG) {
+                if(categoryA == ENEMY_TAG) {
                     if (!isEndingContact) {
-                        ((Enemy) fixtureB.getUserData()).onEnemyEnter((Enemy)fixtureA.getUserData());
+                        ((Enemy) subjectB).onEnemyEnter((Enemy)subjectA);
                     } else {
-                        ((Enemy) fixtureB.getUserData()).onEnemyLeave((Enemy)fixtureA.getUserData());
+                        ((Enemy) subjectB).onEnemyLeave((Enemy)subjectA);
                     }
                 } else {
                     if (!isEndingContact) {
-                        ((Enemy) fixtureA.getUserData()).onEnemyEnter((Enemy)fixtureB.getUserData());
+                        ((Enemy) subjectA).onEnemyEnter((Enemy)subjectB);
                     } else {
-                        ((Enemy) fixtureA.getUserData()).onEnemyLeave((Enemy)fixtureB.getUserData());
+                        ((Enemy) subjectA).onEnemyLeave((Enemy)subjectB);
                     }
                 }
                 break;
@@ -127,12 +146,12 @@ public class WorldContactListener implements ContactListener {
 
     @Override
     public void beginContact(Contact contact) {
-        sendContactMessage(contact, false);
+        events.add(contact, false);
     }
 
     @Override
     public void endContact(Contact contact) {
-        sendContactMessage(contact, true);
+        events.add(contact, true);
     }
 
     @Override
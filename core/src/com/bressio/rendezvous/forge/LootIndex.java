@@ -0,0 +1,114 @@
+package com.bressio.rendezvous.forge;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.bressio.rendezvous.entities.Lootable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+public class LootIndex {
+
+    private static final float CELL_SIZE = 8;
+
+    private final ArrayList<Lootable> loot;
+    private final FloatArray positionsX;
+    private final FloatArray positionsY;
+    private final ArrayList<IntArray> cells;
+    private final int columns;
+    private final int rows;
+
+    LootIndex(float width, float height) {
+        columns = (int) Math.ceil(width / CELL_SIZE);
+        rows = (int) Math.ceil(height / CELL_SIZE);
+        loot = new ArrayList<>();
+        positionsX = new FloatArray();
+        positionsY = new FloatArray();
+        cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new IntArray());
+        }
+    }
+
+    public int add(Lootable lootable) {
+        // the id is the insertion order, so it can key the visited bitsets of every bot
+        int id = loot.size();
+        Vector2 position = lootable.getBody().getPosition();
+        loot.add(lootable);
+        positionsX.add(position.x);
+        positionsY.add(position.y);
+        cells.get(getRow(position.y) * columns + getColumn(position.x)).add(id);
+        return id;
+    }
+
+    public int getNearestUnvisited(Vector2 position, BitSet visited) {
+        int originColumn = getColumn(position.x);
+        int originRow = getRow(position.y);
+        int nearestId = -1;
+        float nearestDistance = Float.MAX_VALUE;
+
+        // searches rings of cells around the origin until no farther ring can hold a nearer loot
+        for (int ring = 0; ring < Math.max(columns, rows); ring++) {
+            for (int row = originRow - ring; row <= originRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean isRingEdge = row == originRow - ring || row == originRow + ring;
+                for (int column = originColumn - ring; column <= originColumn + ring;
+                     column += isRingEdge ? 1 : Math.max(1, ring * 2)) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    IntArray cell = cells.get(row * columns + column);
+                    for (int i = 0; i < cell.size; i++) {
+                        int id = cell.get(i);
+                        float distance = Vector2.dst2(position.x, position.y, positionsX.get(id), positionsY.get(id));
+                        if (distance < nearestDistance && !visited.get(id)) {
+                            nearestId = id;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+            if (nearestId != -1 && nearestDistance <= ring * CELL_SIZE * ring * CELL_SIZE) {
+                break;
+            }
+        }
+        return nearestId;
+    }
+
+    public ArrayList<Lootable> getLootIn(Rectangle bounds, ArrayList<Lootable> result) {
+        result.clear();
+        for (int row = getRow(bounds.y); row <= getRow(bounds.y + bounds.height); row++) {
+            for (int column = getColumn(bounds.x); column <= getColumn(bounds.x + bounds.width); column++) {
+                IntArray cell = cells.get(row * columns + column);
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.get(i);
+                    if (bounds.contains(positionsX.get(id), positionsY.get(id))) {
+                        result.add(loot.get(id));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public Vector2 getPosition(int id, Vector2 position) {
+        return position.set(positionsX.get(id), positionsY.get(id));
+    }
+
+    public Lootable getLoot(int id) {
+        return loot.get(id);
+    }
+
+    private int getColumn(float x) {
+        return MathUtils.clamp((int) Math.floor(x / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int getRow(float y) {
+        return MathUtils.clamp((int) Math.floor(y / CELL_SIZE), 0, rows - 1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.bressio.rendezvous.forge;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.bressio.rendezvous.entities.Soldier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SoldierGrid {
+
+    private static final float CELL_SIZE = 5;
+
+    private final ArrayList<Soldier> soldiers;
+    private final ArrayList<ArrayList<Soldier>> cells;
+    private final int[] soldierCells;
+    private final int columns;
+    private final int rows;
+
+    SoldierGrid(ArrayList<Soldier> soldiers, float width, float height) {
+        this.soldiers = soldiers;
+        columns = (int) Math.ceil(width / CELL_SIZE);
+        rows = (int) Math.ceil(height / CELL_SIZE);
+        cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+        soldierCells = new int[soldiers.size()];
+        Arrays.fill(soldierCells, -1);
+        update();
+    }
+
+    public void update() {
+        // only the soldiers that crossed a cell border since the last tick are moved
+        for (int i = 0; i < soldiers.size(); i++) {
+            Soldier soldier = soldiers.get(i);
+            int cell = soldier.isDead() ? -1 : getCell(soldier.getTickPosition());
+            if (cell != soldierCells[i]) {
+                if (soldierCells[i] != -1) {
+                    cells.get(soldierCells[i]).remove(soldier);
+                }
+                if (cell != -1) {
+                    cells.get(cell).add(soldier);
+                }
+                soldierCells[i] = cell;
+            }
+        }
+    }
+
+    public ArrayList<Soldier> getSoldiersAround(Vector2 position, float radius, Soldier excluded,
+                                                ArrayList<Soldier> result) {
+        result.clear();
+        int minColumn = getColumn(position.x - radius);
+        int maxColumn = getColumn(position.x + radius);
+        int minRow = getRow(position.y - radius);
+        int maxRow = getRow(position.y + radius);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (Soldier soldier : cells.get(row * columns + column)) {
+                    if (soldier != excluded && !soldier.isDead() &&
+                            soldier.getTickPosition().dst2(position) < radius * radius) {
+                        result.add(soldier);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public ArrayList<Soldier> getSoldiersIn(Rectangle bounds, ArrayList<Soldier> result) {
+        result.clear();
+        for (int row = getRow(bounds.y); row <= getRow(bounds.y + bounds.height); row++) {
+            for (int column = getColumn(bounds.x); column <= getColumn(bounds.x + bounds.width); column++) {
+                for (Soldier soldier : cells.get(row * columns + column)) {
+                    if (bounds.contains(soldier.getTickPosition())) {
+                        result.add(soldier);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public Soldier getNearestSoldier(Vector2 position, float radius, Soldier excluded) {
+        int minColumn = getColumn(position.x - radius);
+        int maxColumn = getColumn(position.x + radius);
+        int minRow = getRow(position.y - radius);
+        int maxRow = getRow(position.y + radius);
+        Soldier nearestSoldier = null;
+        float nearestDistance = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (Soldier soldier : cells.get(row * columns + column)) {
+                    float distance = soldier.getTickPosition().dst2(position);
+                    if (soldier != excluded && !soldier.isDead() && distance < nearestDistance) {
+                        nearestSoldier = soldier;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearestSoldier;
+    }
+
+    private int getCell(Vector2 position) {
+        return getRow(position.y) * columns + getColumn(position.x);
+    }
+
+    private int getColumn(float x) {
+        return MathUtils.clamp((int) Math.floor(x / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int getRow(float y) {
+        return MathUtils.clamp((int) Math.floor(y / CELL_SIZE), 0, rows - 1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.bressio.rendezvous.forge;
 
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.EllipseMapObject;
 import com.badlogic.gdx.maps.objects.PolygonMapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
@@ -9,19 +10,23 @@ import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.utils.Array;
 import com.bressio.rendezvous.entities.Enemy;
-import com.bressio.rendezvous.entities.Lootable;
 import com.bressio.rendezvous.entities.Soldier;
 import com.bressio.rendezvous.entities.tiles.Building;
 import com.bressio.rendezvous.entities.tiles.Chest;
 import com.bressio.rendezvous.entities.tiles.Crate;
 import com.bressio.rendezvous.entities.tiles.Loot;
+import com.bressio.rendezvous.events.Squad;
+import com.bressio.rendezvous.navigation.NavigationGrid;
+import com.bressio.rendezvous.navigation.PathFinder;
 import com.bressio.rendezvous.scenes.Match;
 
 import java.util.ArrayList;
 import java.util.Random;
 
 import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
+import static com.bressio.rendezvous.scheme.PlayerSettings.SQUAD_SIZE;
 
 public class WorldBuilder {
 
@@ -40,23 +45,28 @@ public class WorldBuilder {
         public final int index;
     }
 
+    private enum Stage {
+        OCEAN, ROCKS, TREES, BUILDINGS, CHESTS, CRATES, BUILDING_SENSORS, LOOT_INDEX, ENEMIES, SQUADS,
+        SOLDIER_GRID,
+        NAVIGATION, FORGED
+    }
+
     private ArrayList<Crate> crates;
     private ArrayList<Chest> chests;
     private ArrayList<Enemy> enemies;
     private ArrayList<Building> buildings;
+    private ArrayList<Squad> squads;
+    private SoldierGrid soldierGrid;
+    private LootIndex lootIndex;
+    private NavigationGrid navigationGrid;
+    private PathFinder pathFinder;
     private Match match;
+    private Stage stage;
+    private int objectIndex;
 
     public WorldBuilder(Match match) {
         this.match = match;
         init();
-        buildPolygonalObject(Layer.OCEAN);
-        buildEllipticalObject(Layer.ROCK);
-        buildEllipticalObject(Layer.TREE);
-        buildRectangularObject(Layer.BUILDING);
-        buildChests();
-        buildCrates();
-        buildBuildingSensors();
-        buildEnemies();
     }
 
     private void init() {
@@ -64,6 +74,89 @@ public class WorldBuilder {
         crates = new ArrayList<>();
         enemies = new ArrayList<>();
         buildings = new ArrayList<>();
+        squads = new ArrayList<>();
+        stage = Stage.OCEAN;
+    }
+
+    public boolean forge(long deadline) {
+        // the world is forged in small steps until the deadline, so a frame can be drawn between the slices
+        while (stage != Stage.FORGED && System.nanoTime() < deadline) {
+            forgeStep();
+        }
+        return isForged();
+    }
+
+    private void forgeStep() {
+        switch (stage) {
+            case OCEAN:
+                buildPolygonalObject(Layer.OCEAN);
+                break;
+            case ROCKS:
+                buildEllipticalObject(Layer.ROCK);
+                break;
+            case TREES:
+                buildEllipticalObject(Layer.TREE);
+                break;
+            case BUILDINGS:
+                buildRectangularObject(Layer.BUILDING);
+                break;
+            case CHESTS:
+                // chests, crates and enemies are built one at a time, each of them fills an inventory
+                if (objectIndex < getObjects(Layer.CHEST, RectangleMapObject.class).size) {
+                    buildChest(objectIndex++);
+                    return;
+                }
+                break;
+            case CRATES:
+                if (objectIndex < getObjects(Layer.CRATE, RectangleMapObject.class).size) {
+                    buildCrate(objectIndex++);
+                    return;
+                }
+                break;
+            case BUILDING_SENSORS:
+                buildBuildingSensors();
+                break;
+            case LOOT_INDEX:
+                buildLootIndex();
+                break;
+            case ENEMIES:
+                if (objectIndex < getObjects(Layer.ENEMY_SPAWN_POINTS, EllipseMapObject.class).size) {
+                    buildEnemy(objectIndex++);
+                    return;
+                }
+                break;
+            case SQUADS:
+                buildSquads();
+                break;
+            case SOLDIER_GRID:
+                buildSoldierGrid();
+                break;
+            case NAVIGATION:
+                buildNavigation();
+                break;
+        }
+        stage = Stage.values()[stage.ordinal() + 1];
+        objectIndex = 0;
+    }
+
+    public boolean isForged() {
+        return stage == Stage.FORGED;
+    }
+
+    public float getProgress() {
+        float stageProgress = 0;
+        if (stage == Stage.CHESTS) {
+            stageProgress = (float) objectIndex / getObjects(Layer.CHEST, RectangleMapObject.class).size;
+        } else if (stage == Stage.CRATES) {
+            stageProgress = (float) objectIndex / getObjects(Layer.CRATE, RectangleMapObject.class).size;
+        } else if (stage == Stage.ENEMIES) {
+            stageProgress = (float) objectIndex / getObjects(Layer.ENEMY_SPAWN_POINTS, EllipseMapObject.class).size;
+        }
+        return (stage.ordinal() + stageProgress) / Stage.FORGED.ordinal();
+    }
+
+    private <T extends MapObject> Array<T> getObjects(Layer layer, Class<T> type) {
+        return match.getMap().getLayers().get(layer.index).getObjects().getByType(type);
     }
 
     private void buildPolygonalObject(Layer layer) {
@@ -106,20 +199,14 @@ public class WorldBuilder {
         }
     }
 
-    private void buildChests() {
-        for (MapObject object :
-                match.getMap().getLayers().get(Layer.CHEST.index).getObjects().getByType(RectangleMapObject.class)) {
-            Rectangle rect = ((RectangleMapObject) object).getRectangle();
-            chests.add(new Chest(rect, match));
-        }
+    private void buildChest(int index) {
+        Rectangle rect = getObjects(Layer.CHEST, RectangleMapObject.class).get(index).getRectangle();
+        chests.add(new Chest(rect, match));
     }
 
-    private void buildCrates() {
-        for (MapObject object :
-                match.getMap().getLayers().get(Layer.CRATE.index).getObjects().getByType(RectangleMapObject.class)) {
-            Rectangle rect = ((RectangleMapObject) object).getRectangle();
-            crates.add(new Crate(rect, match));
-        }
+    private void buildCrate(int index) {
+        Rectangle rect = getObjects(Layer.CRATE, RectangleMapObject.class).get(index).getRectangle();
+        crates.add(new Crate(rect, match));
     }
 
     private void buildBuildingSensors() {
@@ -131,19 +218,65 @@ public class WorldBuilder {
         }
     }
 
-    private void buildEnemies() {
-        for (MapObject object :
-                match.getMap().getLayers().get(Layer.ENEMY_SPAWN_POINTS.index).getObjects()
-                        .getByType(EllipseMapObject.class)) {
-            Ellipse rect = ((EllipseMapObject) object).getEllipse();
-            enemies.add(new Enemy(match, 35, 5, 8, new Vector2(rect.x, rect.y)));
-        }
+    private void buildEnemy(int index) {
+        Ellipse rect = getObjects(Layer.ENEMY_SPAWN_POINTS, EllipseMapObject.class).get(index).getEllipse();
+        enemies.add(new Enemy(match, 35, 5, 8, new Vector2(rect.x, rect.y)));
 //         instantiate a single enemy
 //            Ellipse rect = ((EllipseMapObject) match.getMap().getLayers()
 //                    .get(Layer.ENEMY_SPAWN_POINTS.index).getObjects().getByType(EllipseMapObject.class).get(20)).getEllipse();
 //            enemies.add(new Enemy(match, 35, 5, 8, new Vector2(rect.x, rect.y)));
     }
 
+    private void buildSquads() {
+        // each squad gathers the bots spawned closest to its first member, a size of one leaves every bot alone
+        ArrayList<Enemy> unassigned = new ArrayList<>(enemies);
+        while (!unassigned.isEmpty()) {
+            Enemy first = unassigned.remove(0);
+            Squad squad = new Squad(this);
+            squad.add(first);
+            while (squad.getMembers().size() < SQUAD_SIZE && !unassigned.isEmpty()) {
+                Enemy closest = unassigned.get(0);
+                for (Enemy enemy : unassigned) {
+                    if (enemy.getBody().getPosition().dst2(first.getBody().getPosition()) <
+                            closest.getBody().getPosition().dst2(first.getBody().getPosition())) {
+                        closest = enemy;
+                    }
+                }
+                unassigned.remove(closest);
+                squad.add(closest);
+            }
+            squads.add(squad);
+        }
+    }
+
+    private void buildLootIndex() {
+        // dead soldiers join the index as they fall
+        lootIndex = new LootIndex(getMapWidth(), getMapHeight());
+        for (Loot loot : getLoot()) {
+            lootIndex.add(loot);
+        }
+    }
+
+    private void buildSoldierGrid() {
+        soldierGrid = new SoldierGrid(getSoldiers(), getMapWidth(), getMapHeight());
+    }
+
+    private void buildNavigation() {
+        // obstacles are inflated by a little less than a soldier's radius, so the narrow doors stay passable
+        navigationGrid = new NavigationGrid(match.getMap(), pScale(30));
+        pathFinder = new PathFinder(navigationGrid);
+    }
+
+    private float getMapWidth() {
+        MapProperties properties = match.getMap().getProperties();
+        return pScale(properties.get("width", Integer.class) * properties.get("tilewidth", Integer.class));
+    }
+
+    private float getMapHeight() {
+        MapProperties properties = match.getMap().getProperties();
+        return pScale(properties.get("height", Integer.class) * properties.get("tileheight", Integer.class));
+    }
+
     public Vector2 getPlayerSpawnPoint() {
         Vector2[] spawnPoints = new Vector2[20];
         int count = 0;
@@ -160,18 +293,6 @@ public class WorldBuilder {
         return spawnPoints[randomIndex];
     }
 
-    public ArrayList<Lootable> getAllLoot() {
-        ArrayList<Lootable> loot = new ArrayList<>();
-        loot.addAll(crates);
-        loot.addAll(chests);
-        for (Enemy enemy : enemies) {
-            if (enemy.isDead()) {
-                loot.add(enemy);
-            }
-        }
-        return loot;
-    }
-
     public ArrayList<Loot> getLoot() {
         ArrayList<Loot> loot = new ArrayList<>();
         loot.addAll(crates);
@@ -190,7 +311,27 @@ public class WorldBuilder {
         return enemies;
     }
 
+    public ArrayList<Squad> getSquads() {
+        return squads;
+    }
+
     public ArrayList<Building> getBuildings() {
         return buildings;
     }
+
+    public LootIndex getLootIndex() {
+        return lootIndex;
+    }
+
+    public NavigationGrid getNavigationGrid() {
+        return navigationGrid;
+    }
+
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    public SoldierGrid getSoldierGrid() {
+        return soldierGrid;
+    }
 }
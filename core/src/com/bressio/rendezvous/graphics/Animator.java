@@ -1,10 +1,9 @@
 package com.bressio.rendezvous.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
 import com.bressio.rendezvous.entities.Entity;
 import com.bressio.rendezvous.entities.Soldier;
-import com.bressio.rendezvous.entities.objects.Empty;
 import com.bressio.rendezvous.entities.objects.Medkit;
 import com.bressio.rendezvous.entities.objects.equipment.armor.MilitaryVest;
 import com.bressio.rendezvous.entities.objects.equipment.armor.SoftVest;
@@ -17,6 +16,8 @@ import com.bressio.rendezvous.entities.objects.weapons.pistols.P26;
 import com.bressio.rendezvous.entities.objects.weapons.srs.AW3;
 import com.bressio.rendezvous.entities.objects.weapons.srs.M20;
 
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.pScale;
+
 public class Animator {
 
     private enum State {
@@ -27,51 +28,83 @@ public class Animator {
     private float stateTimer;
     private State currentState;
     private State previousState;
-    private TextureRegion idleTexture;
     private KeyFrameIndexer indexer;
     private AnimationRegion animationRegion;
+    private SoldierLayer armorLayer;
+    private SoldierLayer helmetLayer;
+    private Array<Array<TextureAtlas.AtlasRegion>> layers;
+    private int frameIndex;
 
-    public Animator(Entity entity, AnimationRegion animationRegion) {
+    public Animator(Entity entity, AnimationRegion animationRegion, SoldierLayer armorLayer, SoldierLayer helmetLayer) {
         this.entity = entity;
         this.animationRegion = animationRegion;
+        this.armorLayer = armorLayer;
+        this.helmetLayer = helmetLayer;
         init();
-        setupIdleTexture();
+        setupLayers();
     }
 
     private void init() {
         currentState = State.IDLE;
         previousState = State.IDLE;
         stateTimer = 0;
-        indexer = new KeyFrameIndexer(entity.getTexture(), animationRegion);
-    }
-
-    private void setupIdleTexture() {
-        idleTexture = new TextureRegion(entity.getTexture(),
-                animationRegion.getIdleTextureX(),
-                animationRegion.getIdleTextureY(),
-                animationRegion.getIdleTextureWidth(),
-                animationRegion.getIdleTextureHeight());
-        idleTexture.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        layers = new Array<>();
     }
 
-    public TextureRegion getIdleTexture() {
-        return idleTexture;
+    private void setupLayers() {
+        // a whole soldier is drawn as packed, otherwise the body holding the item goes first, then the armor and the helmet
+        TextureAtlas atlas = entity.getMatch().getResources().getTextureAtlas(ResourceHandler.TextureAtlasPath.SOLDIER_ATLAS);
+        Array<TextureAtlas.AtlasRegion> wholeSoldier =
+                atlas.findRegions(SoldierLayer.getRegion(animationRegion, armorLayer, helmetLayer));
+        if (wholeSoldier.size > 0) {
+            layers.add(wholeSoldier);
+        } else {
+            layers.add(atlas.findRegions(animationRegion.getRegion()));
+            if (armorLayer != null) {
+                layers.add(atlas.findRegions(armorLayer.getRegion(animationRegion)));
+            }
+            if (helmetLayer != null) {
+                layers.add(atlas.findRegions(helmetLayer.getRegion(animationRegion)));
+            }
+        }
+        indexer = new KeyFrameIndexer(layers.first(), animationRegion);
+        frameIndex = indexer.getIdleFrameIndex();
     }
 
-    public TextureRegion getFrame(float delta, float velocityThreshold) {
+    public void update(float delta, float velocityThreshold) {
         currentState = getState(velocityThreshold);
-        TextureRegion region;
         stateTimer = currentState == previousState ? stateTimer + delta : 0;
         switch (currentState) {
             case MOVING:
-                region = indexer.getMovingAnimation().getKeyFrame(stateTimer, true);
+                frameIndex = indexer.getMovingFrameIndex(stateTimer);
                 break;
             default:
-                region = idleTexture;
+                frameIndex = indexer.getIdleFrameIndex();
                 break;
         }
         previousState = currentState;
-        return region;
+    }
+
+    public void draw(RenderQueue renderQueue) {
+        for (Array<TextureAtlas.AtlasRegion> layer : layers) {
+            drawLayer(renderQueue, layer.get(frameIndex));
+        }
+    }
+
+    private void drawLayer(RenderQueue renderQueue, TextureAtlas.AtlasRegion frame) {
+        // the packed frames are stripped of their transparent borders, the offsets put them back in place
+        float offsetX = pScale(frame.offsetX);
+        float offsetY = pScale(frame.offsetY);
+        renderQueue.submit(RenderQueue.Layer.SOLDIER, frame,
+                entity.getX() + offsetX,
+                entity.getY() + offsetY,
+                entity.getOriginX() - offsetX,
+                entity.getOriginY() - offsetY,
+                pScale(frame.packedWidth),
+                pScale(frame.packedHeight),
+                entity.getScaleX(),
+                entity.getScaleY(),
+                entity.getRotation());
     }
 
     private State getState(float velocityThreshold) {
@@ -86,198 +119,45 @@ public class Animator {
     }
 
     public void verify(Object selectedAmorClass, Object selectedHelmetClass, Object selectedObjectClass) {
-        if (selectedAmorClass == Empty.class && selectedHelmetClass == Empty.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_ATLAS,
-                    AnimationRegion.SOLDIER_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_G21_ATLAS,
-                    AnimationRegion.SOLDIER_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_P26_ATLAS,
-                    AnimationRegion.SOLDIER_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_M20_ATLAS);
-        } else if (selectedHelmetClass == Empty.class && selectedAmorClass == MilitaryVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_MILITARY_VEST,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MILITARY_VEST_ATLAS,
-                    AnimationRegion.SOLDIER_MV_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_MV_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_MV_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_MV_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_G21_ATLAS,
-                    AnimationRegion.SOLDIER_MV_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_P26_ATLAS,
-                    AnimationRegion.SOLDIER_MV_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_MV_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_M20_ATLAS);
-        } else if (selectedHelmetClass == Empty.class && selectedAmorClass == SoftVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_SOFT_VEST,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SOFT_VEST_ATLAS,
-                    AnimationRegion.SOLDIER_SV_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_SV_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_SV_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_SV_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_G21_ATLAS,
-                    AnimationRegion.SOLDIER_SV_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_P26_ATLAS,
-                    AnimationRegion.SOLDIER_SV_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_SV_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_M20_ATLAS);
-        } else if (selectedHelmetClass == CombatHelmet.class && selectedAmorClass == Empty.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_COMBAT_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_COMBAT_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_CT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_CT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_CT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_CT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_CT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_CT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_CT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_CT_M20_ATLAS);
-        } else if (selectedHelmetClass == HalfHelmet.class && selectedAmorClass == Empty.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_HALF_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HALF_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_HT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_HT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_HT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_HT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_HT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_HT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_HT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_HT_M20_ATLAS);
-        } else if (selectedHelmetClass == CombatHelmet.class && selectedAmorClass == MilitaryVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_MV_COMBAT_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_COMBAT_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_MV_CT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_CT_M20_ATLAS);
-        } else if (selectedHelmetClass == HalfHelmet.class && selectedAmorClass == MilitaryVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_MV_HALF_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HALF_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_MV_HT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_MV_HT_M20_ATLAS);
-        } else if (selectedHelmetClass == CombatHelmet.class && selectedAmorClass == SoftVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_SV_COMBAT_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_COMBAT_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_SV_CT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_CT_M20_ATLAS);
-        } else if (selectedHelmetClass == HalfHelmet.class && selectedAmorClass == SoftVest.class) {
-            defineNewAnimation(selectedObjectClass,
-                    AnimationRegion.SOLDIER_SV_HALF_HELMET,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HALF_HELMET_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_MEDKIT,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_MEDKIT_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_STAR,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_STAR_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_W16A,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_W16A_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_G21,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_G21_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_P26,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_P26_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_AW3,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_AW3_ATLAS,
-                    AnimationRegion.SOLDIER_SV_HT_M20,
-                    ResourceHandler.TextureAtlasPath.SOLDIER_SV_HT_M20_ATLAS);
-        }
+        ((Soldier)entity).switchAnimation(getPose(selectedObjectClass),
+                getArmorLayer(selectedAmorClass), getHelmetLayer(selectedHelmetClass));
     }
 
-    private void defineNewAnimation(Object selectedObjectClass,
-                                    AnimationRegion baseAnim, ResourceHandler.TextureAtlasPath base,
-                                    AnimationRegion medkitAnim, ResourceHandler.TextureAtlasPath medkit,
-                                    AnimationRegion starAnim, ResourceHandler.TextureAtlasPath star,
-                                    AnimationRegion w16aAnim, ResourceHandler.TextureAtlasPath w16a,
-                                    AnimationRegion g21Anim, ResourceHandler.TextureAtlasPath g21,
-                                    AnimationRegion p26Anim, ResourceHandler.TextureAtlasPath p26,
-                                    AnimationRegion aw3Anim, ResourceHandler.TextureAtlasPath aw3,
-                                    AnimationRegion m20Anim, ResourceHandler.TextureAtlasPath m20) {
-        if (selectedObjectClass == Empty.class) {
-            ((Soldier)entity).switchAnimation(baseAnim, base);
-        } else if (selectedObjectClass == Medkit.class) {
-            ((Soldier)entity).switchAnimation(medkitAnim, medkit);
+    private AnimationRegion getPose(Object selectedObjectClass) {
+        if (selectedObjectClass == Medkit.class) {
+            return AnimationRegion.SOLDIER_MEDKIT;
         } else if (selectedObjectClass == STAR.class) {
-            ((Soldier)entity).switchAnimation(starAnim, star);
+            return AnimationRegion.SOLDIER_STAR;
         } else if (selectedObjectClass == W16A.class) {
-            ((Soldier)entity).switchAnimation(w16aAnim, w16a);
+            return AnimationRegion.SOLDIER_W16A;
         } else if (selectedObjectClass == G21.class) {
-            ((Soldier)entity).switchAnimation(g21Anim, g21);
+            return AnimationRegion.SOLDIER_G21;
         } else if (selectedObjectClass == P26.class) {
-            ((Soldier)entity).switchAnimation(p26Anim, p26);
+            return AnimationRegion.SOLDIER_P26;
         } else if (selectedObjectClass == AW3.class) {
-            ((Soldier)entity).switchAnimation(aw3Anim, aw3);
+            return AnimationRegion.SOLDIER_AW3;
         } else if (selectedObjectClass == M20.class) {
-            ((Soldier)entity).switchAnimation(m20Anim, m20);
+            return AnimationRegion.SOLDIER_M20;
         } else {
-            ((Soldier)entity).switchAnimation(baseAnim, base);
+            return AnimationRegion.SOLDIER;
+        }
+    }
+
+    private SoldierLayer getArmorLayer(Object selectedAmorClass) {
+        if (selectedAmorClass == MilitaryVest.class) {
+            return SoldierLayer.MILITARY_VEST;
+        } else if (selectedAmorClass == SoftVest.class) {
+            return SoldierLayer.SOFT_VEST;
+        }
+        return null;
+    }
+
+    private SoldierLayer getHelmetLayer(Object selectedHelmetClass) {
+        if (selectedHelmetClass == CombatHelmet.class) {
+            return SoldierLayer.COMBAT_HELMET;
+        } else if (selectedHelmetClass == HalfHelmet.class) {
+            return SoldierLayer.HALF_HELMET;
         }
+        return null;
     }
 }
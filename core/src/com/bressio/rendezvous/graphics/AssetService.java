@@ -0,0 +1,151 @@
+package com.bressio.rendezvous.graphics;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+public final class AssetService implements Disposable {
+
+    // the decoded size the unreferenced assets may keep in memory before the oldest are unloaded
+    private static final long WARM_MEMORY_BUDGET = 128L * 1024 * 1024;
+
+    private static AssetService instance;
+
+    private AssetManager assetManager;
+    private FontCache fontCache;
+    private ObjectIntMap<String> references;
+    private Array<String> warmAssets;
+    private ObjectMap<String, Long> warmSizes;
+    private ObjectMap<String, Class<?>> loaderTypes;
+    private long warmMemory;
+
+    private AssetService() {
+        assetManager = new AssetManager();
+        fontCache = new FontCache();
+        references = new ObjectIntMap<>();
+        warmAssets = new Array<>();
+        warmSizes = new ObjectMap<>();
+        loaderTypes = new ObjectMap<>();
+    }
+
+    public static AssetService getInstance() {
+        if (instance == null) {
+            instance = new AssetService();
+        }
+        return instance;
+    }
+
+    <T> void acquire(String path, Class<T> type) {
+        if (references.getAndIncrement(path, 0, 1) > 0) {
+            return;
+        }
+        // a warm asset is only reused if it was loaded the same way, a headless map has no tileset textures
+        Class<?> loaderType = assetManager.getLoader(type, path).getClass();
+        if (!revive(path, loaderType)) {
+            assetManager.load(path, type);
+            loaderTypes.put(path, loaderType);
+        }
+    }
+
+    void release(String path) {
+        references.getAndIncrement(path, 0, -1);
+        if (references.get(path, 0) > 0) {
+            return;
+        }
+        references.remove(path, 0);
+        // an asset still being loaded isn't worth keeping, a loaded one stays warm for the next match
+        if (assetManager.isLoaded(path)) {
+            long size = estimateSize(path);
+            warmAssets.add(path);
+            warmSizes.put(path, size);
+            warmMemory += size;
+            evict();
+        } else {
+            unload(path);
+        }
+    }
+
+    private boolean revive(String path, Class<?> loaderType) {
+        if (!warmAssets.removeValue(path, false)) {
+            return false;
+        }
+        warmMemory -= warmSizes.remove(path);
+        if (loaderTypes.get(path) != loaderType) {
+            unload(path);
+            return false;
+        }
+        return true;
+    }
+
+    private void unload(String path) {
+        assetManager.unload(path);
+        loaderTypes.remove(path);
+    }
+
+    private void evict() {
+        // the assets released the longest ago go first
+        while (warmMemory > WARM_MEMORY_BUDGET && warmAssets.size > 0) {
+            String path = warmAssets.removeIndex(0);
+            warmMemory -= warmSizes.remove(path);
+            unload(path);
+        }
+    }
+
+    private long estimateSize(String path) {
+        Object asset = assetManager.get(path);
+        long size = 0;
+        if (asset instanceof Texture) {
+            size = (long) ((Texture) asset).getWidth() * ((Texture) asset).getHeight() * 4;
+        } else if (asset instanceof Pixmap) {
+            size = ((Pixmap) asset).getPixels().capacity();
+        }
+        // atlases and maps weigh as much as the pages and tilesets they load
+        Array<String> dependencies = assetManager.getDependencies(path);
+        if (dependencies != null) {
+            for (String dependency : dependencies) {
+                size += estimateSize(dependency);
+            }
+        }
+        return size;
+    }
+
+    <T> void setLoader(Class<T> type, AssetLoader<T, ?> loader) {
+        assetManager.setLoader(type, loader);
+    }
+
+    boolean update(int budgetMillis) {
+        return assetManager.update(budgetMillis);
+    }
+
+    void finishLoading() {
+        assetManager.finishLoading();
+    }
+
+    void finishLoadingAsset(String path) {
+        assetManager.finishLoadingAsset(path);
+    }
+
+    float getProgress() {
+        return assetManager.getProgress();
+    }
+
+    <T> T get(String path, Class<T> type) {
+        return assetManager.get(path, type);
+    }
+
+    FontCache getFontCache() {
+        return fontCache;
+    }
+
+    @Override
+    public void dispose() {
+        assetManager.dispose();
+        fontCache.dispose();
+        instance = null;
+    }
+}
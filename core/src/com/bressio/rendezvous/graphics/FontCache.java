@@ -0,0 +1,58 @@
+package com.bressio.rendezvous.graphics;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+
+class FontCache implements Disposable {
+
+    private IntMap<BitmapFont> fonts;
+    private IntIntMap references;
+
+    FontCache() {
+        fonts = new IntMap<>();
+        references = new IntIntMap();
+    }
+
+    BitmapFont acquire(ResourceHandler.FontPath fontPath, int size, boolean hasShadow) {
+        int key = getKey(fontPath, size, hasShadow);
+        BitmapFont font = fonts.get(key);
+        if (font == null) {
+            // rasterizing a glyph atlas is slow, so each combination is only generated once while it is in use
+            font = FontGenerator.generate(fontPath, size, hasShadow);
+            fonts.put(key, font);
+        }
+        references.getAndIncrement(key, 0, 1);
+        return font;
+    }
+
+    BitmapFont get(ResourceHandler.FontPath fontPath, int size, boolean hasShadow) {
+        return fonts.get(getKey(fontPath, size, hasShadow));
+    }
+
+    void release(int key) {
+        int count = references.getAndIncrement(key, 0, -1) - 1;
+        if (count <= 0) {
+            // the glyph atlas is not counted by the asset budget, so it goes as soon as no handler holds it
+            references.remove(key, 0);
+            BitmapFont font = fonts.remove(key);
+            if (font != null) {
+                font.dispose();
+            }
+        }
+    }
+
+    static int getKey(ResourceHandler.FontPath fontPath, int size, boolean hasShadow) {
+        return fontPath.ordinal() << 16 | size << 1 | (hasShadow ? 1 : 0);
+    }
+
+    @Override
+    public void dispose() {
+        for (BitmapFont font : fonts.values()) {
+            font.dispose();
+        }
+        fonts.clear();
+        references.clear();
+    }
+}
@@ -5,9 +5,9 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 
-public class FontGenerator {
+class FontGenerator {
 
-    public static BitmapFont generate(ResourceHandler.FontPath fontPath, int size, boolean hasShadow) {
+    static BitmapFont generate(ResourceHandler.FontPath fontPath, int size, boolean hasShadow) {
         FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(fontPath.path));
         FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
         parameter.size = size;
@@ -0,0 +1,50 @@
+package com.bressio.rendezvous.graphics;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+
+class HeadlessTmxMapLoader extends TmxMapLoader {
+
+    HeadlessTmxMapLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle tmxFile, Parameters parameter) {
+        // the tileset images are never requested, so no texture has to be uploaded to a GL context
+        root = xml.parse(tmxFile);
+        return new Array<>();
+    }
+
+    @Override
+    protected void loadTileSet(TiledMap map, XmlReader.Element element, FileHandle tmxFile,
+                               ImageResolver imageResolver) {
+        if (element.getName().equals("tileset")) {
+            int firstId = element.getIntAttribute("firstgid", 1);
+            String source = element.getAttribute("source", null);
+            if (source != null) {
+                element = xml.parse(getRelativeFileHandle(tmxFile, source));
+            }
+
+            TiledMapTileSet tileSet = new TiledMapTileSet();
+            tileSet.setName(element.get("name", null));
+            int tileCount = element.getIntAttribute("tilecount", 0);
+            for (int id = firstId; id < firstId + tileCount; id++) {
+                StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+                tile.setId(id);
+                tileSet.putTile(id, tile);
+            }
+            map.getTileSets().addTileSet(tileSet);
+        }
+    }
+}
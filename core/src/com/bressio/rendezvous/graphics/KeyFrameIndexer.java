@@ -1,33 +1,30 @@
 package com.bressio.rendezvous.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.utils.Array;
 
 class KeyFrameIndexer {
 
-    private Animation<TextureRegion> movingAnimation;
+    private Animation<TextureAtlas.AtlasRegion> movingAnimation;
+    private Array<TextureAtlas.AtlasRegion> frames;
     private AnimationRegion animationRegion;
-    private Texture texture;
 
-    KeyFrameIndexer(Texture texture, AnimationRegion animationRegion) {
-        this.texture = texture;
+    KeyFrameIndexer(Array<TextureAtlas.AtlasRegion> frames, AnimationRegion animationRegion) {
+        this.frames = frames;
         this.animationRegion = animationRegion;
         init();
     }
 
     private void init() {
-        Array<TextureRegion> frames = new Array<>();
-        for (int i = animationRegion.getStartColumn(); i <= animationRegion.getAmountFrames(); i++) {
-            frames.add(new TextureRegion(texture, i * animationRegion.getFrameWidth(), animationRegion.getStartRow(),
-                    animationRegion.getFrameWidth(), animationRegion.getFrameHeight()));
-        }
-        movingAnimation = new Animation<>(animationRegion.getFrameDuration(), frames);
-        frames.clear();
+        movingAnimation = new Animation<>(animationRegion.getFrameDuration(), frames, Animation.PlayMode.LOOP);
     }
 
-    Animation<TextureRegion> getMovingAnimation() {
-        return movingAnimation;
+    int getMovingFrameIndex(float stateTime) {
+        return movingAnimation.getKeyFrameIndex(stateTime);
+    }
+
+    int getIdleFrameIndex() {
+        return 0;
     }
 }
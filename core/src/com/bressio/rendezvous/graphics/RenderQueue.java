@@ -0,0 +1,143 @@
+package com.bressio.rendezvous.graphics;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Comparator;
+
+public class RenderQueue {
+
+    public enum Layer {
+        // drawn under the over map
+        DEAD_LOOT, BULLET, SOLDIER_LIGHT, SOLDIER,
+        // drawn over the over map
+        INTERACTION_BUTTON, SAFEZONE
+    }
+
+    private static class DrawCommand implements Pool.Poolable {
+        private Layer layer;
+        private Texture texture;
+        private TextureRegion region;
+        private Sprite sprite;
+        private float x, y, originX, originY, width, height, scaleX, scaleY, rotation;
+
+        private void draw(SpriteBatch batch) {
+            if (sprite != null) {
+                sprite.draw(batch);
+            } else if (region != null) {
+                batch.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+            } else {
+                batch.draw(texture, x, y, width, height);
+            }
+        }
+
+        @Override
+        public void reset() {
+            texture = null;
+            region = null;
+            sprite = null;
+        }
+    }
+
+    private final Pool<DrawCommand> pool;
+    private final Array<DrawCommand> commands;
+    private final Comparator<DrawCommand> order;
+    private boolean isSorted;
+    private int drawnCommands;
+    private int drawCalls;
+    private int lastFrameDrawCalls;
+
+    public RenderQueue() {
+        pool = new Pool<DrawCommand>() {
+            @Override
+            protected DrawCommand newObject() {
+                return new DrawCommand();
+            }
+        };
+        commands = new Array<>(false, 256);
+        // the sort is stable, so the draws sharing a layer and a texture keep their submission order
+        order = new Comparator<DrawCommand>() {
+            @Override
+            public int compare(DrawCommand a, DrawCommand b) {
+                if (a.layer != b.layer) {
+                    return a.layer.ordinal() - b.layer.ordinal();
+                }
+                return Integer.compare(a.texture.getTextureObjectHandle(), b.texture.getTextureObjectHandle());
+            }
+        };
+    }
+
+    public void submit(Layer layer, Sprite sprite) {
+        DrawCommand command = obtain(layer, sprite.getTexture());
+        command.sprite = sprite;
+    }
+
+    public void submit(Layer layer, Texture texture, float x, float y, float width, float height) {
+        DrawCommand command = obtain(layer, texture);
+        command.x = x;
+        command.y = y;
+        command.width = width;
+        command.height = height;
+    }
+
+    public void submit(Layer layer, TextureRegion region, float x, float y, float originX, float originY,
+                       float width, float height, float scaleX, float scaleY, float rotation) {
+        DrawCommand command = obtain(layer, region.getTexture());
+        command.region = region;
+        command.x = x;
+        command.y = y;
+        command.originX = originX;
+        command.originY = originY;
+        command.width = width;
+        command.height = height;
+        command.scaleX = scaleX;
+        command.scaleY = scaleY;
+        command.rotation = rotation;
+    }
+
+    private DrawCommand obtain(Layer layer, Texture texture) {
+        DrawCommand command = pool.obtain();
+        command.layer = layer;
+        command.texture = texture;
+        commands.add(command);
+        isSorted = false;
+        return command;
+    }
+
+    public void render(SpriteBatch batch, Layer lastLayer) {
+        if (!isSorted) {
+            commands.sort(order);
+            isSorted = true;
+        }
+        // a single begin and end for every command up to the given layer, the batch flushes on texture switches
+        batch.begin();
+        while (drawnCommands < commands.size && commands.get(drawnCommands).layer.ordinal() <= lastLayer.ordinal()) {
+            commands.get(drawnCommands++).draw(batch);
+        }
+        batch.end();
+        countDrawCalls(batch.renderCalls);
+
+        if (drawnCommands == commands.size) {
+            pool.freeAll(commands);
+            commands.clear();
+            drawnCommands = 0;
+        }
+    }
+
+    public void countDrawCalls(int renderCalls) {
+        drawCalls += renderCalls;
+    }
+
+    public void beginFrame() {
+        lastFrameDrawCalls = drawCalls;
+        drawCalls = 0;
+    }
+
+    public int getDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+}
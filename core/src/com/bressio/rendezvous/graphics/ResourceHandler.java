@@ -1,15 +1,18 @@
 package com.bressio.rendezvous.graphics;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectMap;
 
 public final class ResourceHandler implements Disposable {
 
@@ -91,79 +94,7 @@ public final class ResourceHandler implements Disposable {
 
     public enum TextureAtlasPath {
         BUTTON_ATLAS("textures/gui/buttons/buttons.pack"),
-        SOLDIER_ATLAS("textures/animations/unarmed/soldier-animation.pack"),
-        SOLDIER_MILITARY_VEST_ATLAS("textures/animations/unarmed/soldier-military-vest-animation.pack"),
-        SOLDIER_SOFT_VEST_ATLAS("textures/animations/unarmed/soldier-soft-vest-animation.pack"),
-        SOLDIER_COMBAT_HELMET_ATLAS("textures/animations/unarmed/soldier-combat-helmet-animation.pack"),
-        SOLDIER_HALF_HELMET_ATLAS("textures/animations/unarmed/soldier-half-helmet-animation.pack"),
-        SOLDIER_MV_COMBAT_HELMET_ATLAS("textures/animations/unarmed/soldier-mv-combat-helmet-animation.pack"),
-        SOLDIER_MV_HALF_HELMET_ATLAS("textures/animations/unarmed/soldier-mv-half-helmet-animation.pack"),
-        SOLDIER_SV_COMBAT_HELMET_ATLAS("textures/animations/unarmed/soldier-sv-combat-helmet-animation.pack"),
-        SOLDIER_SV_HALF_HELMET_ATLAS("textures/animations/unarmed/soldier-sv-half-helmet-animation.pack"),
-        SOLDIER_MEDKIT_ATLAS("textures/animations/medkit/soldier-medkit-animation.pack"),
-        SOLDIER_SV_MEDKIT_ATLAS("textures/animations/medkit/soldier-sv-medkit-animation.pack"),
-        SOLDIER_MV_MEDKIT_ATLAS("textures/animations/medkit/soldier-mv-medkit-animation.pack"),
-        SOLDIER_CT_MEDKIT_ATLAS("textures/animations/medkit/soldier-ct-medkit-animation.pack"),
-        SOLDIER_HT_MEDKIT_ATLAS("textures/animations/medkit/soldier-ht-medkit-animation.pack"),
-        SOLDIER_MV_CT_MEDKIT_ATLAS("textures/animations/medkit/soldier-mv-ct-medkit-animation.pack"),
-        SOLDIER_MV_HT_MEDKIT_ATLAS("textures/animations/medkit/soldier-mv-ht-medkit-animation.pack"),
-        SOLDIER_SV_CT_MEDKIT_ATLAS("textures/animations/medkit/soldier-sv-ct-medkit-animation.pack"),
-        SOLDIER_SV_HT_MEDKIT_ATLAS("textures/animations/medkit/soldier-sv-ht-medkit-animation.pack"),
-        SOLDIER_STAR_ATLAS("textures/animations/star/soldier-star-animation.pack"),
-        SOLDIER_MV_STAR_ATLAS("textures/animations/star/soldier-mv-star-animation.pack"),
-        SOLDIER_SV_STAR_ATLAS("textures/animations/star/soldier-sv-star-animation.pack"),
-        SOLDIER_CT_STAR_ATLAS("textures/animations/star/soldier-ct-star-animation.pack"),
-        SOLDIER_HT_STAR_ATLAS("textures/animations/star/soldier-ht-star-animation.pack"),
-        SOLDIER_MV_CT_STAR_ATLAS("textures/animations/star/soldier-mv-ct-star-animation.pack"),
-        SOLDIER_MV_HT_STAR_ATLAS("textures/animations/star/soldier-mv-ht-star-animation.pack"),
-        SOLDIER_SV_CT_STAR_ATLAS("textures/animations/star/soldier-sv-ct-star-animation.pack"),
-        SOLDIER_SV_HT_STAR_ATLAS("textures/animations/star/soldier-sv-ht-star-animation.pack"),
-        SOLDIER_W16A_ATLAS("textures/animations/w16a/soldier-w16a-animation.pack"),
-        SOLDIER_MV_W16A_ATLAS("textures/animations/w16a/soldier-mv-w16a-animation.pack"),
-        SOLDIER_SV_W16A_ATLAS("textures/animations/w16a/soldier-sv-w16a-animation.pack"),
-        SOLDIER_CT_W16A_ATLAS("textures/animations/w16a/soldier-ct-w16a-animation.pack"),
-        SOLDIER_HT_W16A_ATLAS("textures/animations/w16a/soldier-ht-w16a-animation.pack"),
-        SOLDIER_MV_CT_W16A_ATLAS("textures/animations/w16a/soldier-mv-ct-w16a-animation.pack"),
-        SOLDIER_MV_HT_W16A_ATLAS("textures/animations/w16a/soldier-mv-ht-w16a-animation.pack"),
-        SOLDIER_SV_CT_W16A_ATLAS("textures/animations/w16a/soldier-sv-ct-w16a-animation.pack"),
-        SOLDIER_SV_HT_W16A_ATLAS("textures/animations/w16a/soldier-sv-ht-w16a-animation.pack"),
-        SOLDIER_G21_ATLAS("textures/animations/g21/soldier-g21-animation.pack"),
-        SOLDIER_MV_G21_ATLAS("textures/animations/g21/soldier-mv-g21-animation.pack"),
-        SOLDIER_SV_G21_ATLAS("textures/animations/g21/soldier-sv-g21-animation.pack"),
-        SOLDIER_CT_G21_ATLAS("textures/animations/g21/soldier-ct-g21-animation.pack"),
-        SOLDIER_HT_G21_ATLAS("textures/animations/g21/soldier-ht-g21-animation.pack"),
-        SOLDIER_MV_CT_G21_ATLAS("textures/animations/g21/soldier-mv-ct-g21-animation.pack"),
-        SOLDIER_MV_HT_G21_ATLAS("textures/animations/g21/soldier-mv-ht-g21-animation.pack"),
-        SOLDIER_SV_CT_G21_ATLAS("textures/animations/g21/soldier-sv-ct-g21-animation.pack"),
-        SOLDIER_SV_HT_G21_ATLAS("textures/animations/g21/soldier-sv-ht-g21-animation.pack"),
-        SOLDIER_P26_ATLAS("textures/animations/p26/soldier-p26-animation.pack"),
-        SOLDIER_MV_P26_ATLAS("textures/animations/p26/soldier-mv-p26-animation.pack"),
-        SOLDIER_SV_P26_ATLAS("textures/animations/p26/soldier-sv-p26-animation.pack"),
-        SOLDIER_CT_P26_ATLAS("textures/animations/p26/soldier-ct-p26-animation.pack"),
-        SOLDIER_HT_P26_ATLAS("textures/animations/p26/soldier-ht-p26-animation.pack"),
-        SOLDIER_MV_CT_P26_ATLAS("textures/animations/p26/soldier-mv-ct-p26-animation.pack"),
-        SOLDIER_MV_HT_P26_ATLAS("textures/animations/p26/soldier-mv-ht-p26-animation.pack"),
-        SOLDIER_SV_CT_P26_ATLAS("textures/animations/p26/soldier-sv-ct-p26-animation.pack"),
-        SOLDIER_SV_HT_P26_ATLAS("textures/animations/p26/soldier-sv-ht-p26-animation.pack"),
-        SOLDIER_AW3_ATLAS("textures/animations/aw3/soldier-aw3-animation.pack"),
-        SOLDIER_MV_AW3_ATLAS("textures/animations/aw3/soldier-mv-aw3-animation.pack"),
-        SOLDIER_SV_AW3_ATLAS("textures/animations/aw3/soldier-sv-aw3-animation.pack"),
-        SOLDIER_CT_AW3_ATLAS("textures/animations/aw3/soldier-ct-aw3-animation.pack"),
-        SOLDIER_HT_AW3_ATLAS("textures/animations/aw3/soldier-ht-aw3-animation.pack"),
-        SOLDIER_MV_CT_AW3_ATLAS("textures/animations/aw3/soldier-mv-ct-aw3-animation.pack"),
-        SOLDIER_MV_HT_AW3_ATLAS("textures/animations/aw3/soldier-mv-ht-aw3-animation.pack"),
-        SOLDIER_SV_CT_AW3_ATLAS("textures/animations/aw3/soldier-sv-ct-aw3-animation.pack"),
-        SOLDIER_SV_HT_AW3_ATLAS("textures/animations/aw3/soldier-sv-ht-aw3-animation.pack"),
-        SOLDIER_M20_ATLAS("textures/animations/m20/soldier-m20-animation.pack"),
-        SOLDIER_MV_M20_ATLAS("textures/animations/m20/soldier-mv-m20-animation.pack"),
-        SOLDIER_SV_M20_ATLAS("textures/animations/m20/soldier-sv-m20-animation.pack"),
-        SOLDIER_CT_M20_ATLAS("textures/animations/m20/soldier-ct-m20-animation.pack"),
-        SOLDIER_HT_M20_ATLAS("textures/animations/m20/soldier-ht-m20-animation.pack"),
-        SOLDIER_MV_CT_M20_ATLAS("textures/animations/m20/soldier-mv-ct-m20-animation.pack"),
-        SOLDIER_MV_HT_M20_ATLAS("textures/animations/m20/soldier-mv-ht-m20-animation.pack"),
-        SOLDIER_SV_CT_M20_ATLAS("textures/animations/m20/soldier-sv-ct-m20-animation.pack"),
-        SOLDIER_SV_HT_M20_ATLAS("textures/animations/m20/soldier-sv-ht-m20-animation.pack"),
-
+        SOLDIER_ATLAS("textures/animations/soldiers.atlas"),
         WINDOW_ATLAS("skins/vis/skin/x2/uiskin.atlas");
         private String path;
         TextureAtlasPath(String path) { this.path = path; }
@@ -189,178 +120,191 @@ public final class ResourceHandler implements Disposable {
         FontPath(String path) { this.path = path; }
     }
 
-    private AssetManager assetManager;
+    private AssetService assets;
+    private FontCache fontCache;
+    private Array<String> acquiredPaths;
+    private IntSet acquiredFonts;
+    private ObjectMap<Skin, SkinPaths> skins;
+    private boolean isHeadless;
 
     public ResourceHandler() {
-        assetManager = new AssetManager();
+        // the assets are shared by every handler, each one only holds references to the ones it asked for
+        assets = AssetService.getInstance();
+        fontCache = assets.getFontCache();
+        acquiredPaths = new Array<>();
+        acquiredFonts = new IntSet();
+        skins = new ObjectMap<>();
+    }
+
+    private <T> void acquire(String path, Class<T> type) {
+        assets.acquire(path, type);
+        acquiredPaths.add(path);
     }
 
     public void loadMainMenuResources() {
-        assetManager.load(TexturePath.MENU_P0.path, Texture.class);
-        assetManager.load(TexturePath.MENU_P1.path, Texture.class);
-        assetManager.load(TexturePath.MENU_P2.path, Texture.class);
-        assetManager.load(TexturePath.MENU_P3.path, Texture.class);
-        assetManager.load(TexturePath.MENU_LOGO.path, Texture.class);
-        assetManager.load(PixmapPath.MENU_CURSOR.path, Pixmap.class);
-        assetManager.load(TexturePath.LOADING_SCREEN.path, Texture.class);
-        assetManager.load(TexturePath.GAME_ICON.path, Texture.class);
-        assetManager.load(TexturePath.VIGNETTE.path, Texture.class);
-        assetManager.finishLoading();
+        acquire(TexturePath.MENU_P0.path, Texture.class);
+        acquire(TexturePath.MENU_P1.path, Texture.class);
+        acquire(TexturePath.MENU_P2.path, Texture.class);
+        acquire(TexturePath.MENU_P3.path, Texture.class);
+        acquire(TexturePath.MENU_LOGO.path, Texture.class);
+        acquire(PixmapPath.MENU_CURSOR.path, Pixmap.class);
+        acquire(TexturePath.LOADING_SCREEN.path, Texture.class);
+        acquire(TexturePath.GAME_ICON.path, Texture.class);
+        acquire(TexturePath.VIGNETTE.path, Texture.class);
+        assets.finishLoading();
+        prebakeFonts(FontPath.BOMBARD, false, 42);
+    }
+
+    public void queueMatchResources() {
+        acquire(PixmapPath.MATCH_CURSOR.path, Pixmap.class);
+        acquire(PixmapPath.MENU_CURSOR.path, Pixmap.class);
+        // every soldier variant is packed in one atlas, see SoldierAtlasPacker
+        acquire(TextureAtlasPath.SOLDIER_ATLAS.path, TextureAtlas.class);
+        assets.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+        acquire(TiledMapPath.TILEMAP.path, TiledMap.class);
+        acquire(TiledMapPath.OVER_TILEMAP.path, TiledMap.class);
+        acquire(TexturePath.BLACK_BACKGROUND.path, Texture.class);
+        acquire(TexturePath.MATCH_MAP.path, Texture.class);
+        acquire(TexturePath.MATCH_MINIMAP.path, Texture.class);
+        acquire(TexturePath.MATCH_MINIMAP_FRAME.path, Texture.class);
+        acquire(TexturePath.PLAYER_MARK.path, Texture.class);
+        acquire(TexturePath.EVENT_BACKGROUND.path, Texture.class);
+        acquire(TexturePath.SAFEZONE.path, Texture.class);
+        acquire(TexturePath.DANGER_ZONE.path, Texture.class);
+        acquire(TexturePath.EMPTY_BAR.path, Texture.class);
+        acquire(TexturePath.HEALTH_BAR.path, Texture.class);
+        acquire(TexturePath.ARMOR_BAR.path, Texture.class);
+        acquire(TexturePath.HEALTH_ICON.path, Texture.class);
+        acquire(TexturePath.ARMOR_ICON.path, Texture.class);
+        acquire(TexturePath.VIGNETTE.path, Texture.class);
+        acquire(TexturePath.INTERACTION_BUTTON.path, Texture.class);
+        acquire(TexturePath.EXCHANGE_ICON.path, Texture.class);
+        acquire(TexturePath.EMPTY_SLOT.path, Texture.class);
+        acquire(TexturePath.MEDKIT_ICON.path, Texture.class);
+        acquire(TexturePath.INVENTORY.path, Texture.class);
+        acquire(TexturePath.INVISIBLE_SLOT.path, Texture.class);
+        acquire(TexturePath.SELECTED_SLOT.path, Texture.class);
+        acquire(TexturePath.GENERIC_PROGRESS_BAR.path, Texture.class);
+        acquire(TexturePath.SOLDIER_BODY.path, Texture.class);
+        acquire(TexturePath.COMBAT_HELMET.path, Texture.class);
+        acquire(TexturePath.HALF_HELMET.path, Texture.class);
+        acquire(TexturePath.MILITARY_VEST.path, Texture.class);
+        acquire(TexturePath.SOFT_VEST.path, Texture.class);
+        acquire(TexturePath.AW3.path, Texture.class);
+        acquire(TexturePath.G21.path, Texture.class);
+        acquire(TexturePath.M20.path, Texture.class);
+        acquire(TexturePath.P26.path, Texture.class);
+        acquire(TexturePath.STAR.path, Texture.class);
+        acquire(TexturePath.W16A.path, Texture.class);
+        acquire(TexturePath.FIVE_FIVE_SIX.path, Texture.class);
+        acquire(TexturePath.NINE.path, Texture.class);
+        acquire(TexturePath.SEVEN_SIX_TWO.path, Texture.class);
+        acquire(TexturePath.BULLET.path, Texture.class);
+        acquire(TexturePath.POINTLIGHT.path, Texture.class);
+        acquire(TexturePath.SAFEZONE_EXPANDED.path, Texture.class);
+        acquire(TexturePath.NEXT_SAFEZONE_EXPANDED.path, Texture.class);
+        acquire(TexturePath.WATER_BACKGROUND.path, Texture.class);
+        acquire(TexturePath.DEAD_LOOT.path, Texture.class);
+        acquire(TexturePath.ALIVE_INDICATOR_BG.path, Texture.class);
+        acquire(TexturePath.THIN_ARROW.path, Texture.class);
+        acquire(TexturePath.SAILING.path, Texture.class);
+        acquire(TexturePath.IS_DED.path, Texture.class);
+    }
+
+    public boolean updateMatchResources(int budgetMillis) {
+        // loads for about the given time and returns once everything queued is ready
+        if (!assets.update(budgetMillis)) {
+            return false;
+        }
+        // the sizes used by the HUD and the match windows, so none is rasterized mid-match
+        prebakeFonts(FontPath.BOMBARD, false, 12, 14, 18, 22, 26);
+        return true;
+    }
+
+    private void prebakeFonts(FontPath fontPath, boolean hasShadow, int... sizes) {
+        for (int size : sizes) {
+            getFont(fontPath, size, hasShadow);
+        }
+    }
+
+    public float getLoadingProgress() {
+        return assets.getProgress();
     }
 
-    public void loadMatchResources() {
-        assetManager.load(PixmapPath.MATCH_CURSOR.path, Pixmap.class);
-        assetManager.load(PixmapPath.MENU_CURSOR.path, Pixmap.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MILITARY_VEST_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SOFT_VEST_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_COMBAT_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HALF_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_COMBAT_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HALF_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_COMBAT_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HALF_HELMET_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_MEDKIT_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_STAR_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_W16A_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_G21_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_P26_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_AW3_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_CT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_HT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_CT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_MV_HT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_CT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.load(TextureAtlasPath.SOLDIER_SV_HT_M20_ATLAS.path, TextureAtlas.class);
-        assetManager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
-        assetManager.load(TiledMapPath.TILEMAP.path, TiledMap.class);
-        assetManager.load(TiledMapPath.OVER_TILEMAP.path, TiledMap.class);
-        assetManager.load(TexturePath.BLACK_BACKGROUND.path, Texture.class);
-        assetManager.load(TexturePath.MATCH_MAP.path, Texture.class);
-        assetManager.load(TexturePath.MATCH_MINIMAP.path, Texture.class);
-        assetManager.load(TexturePath.MATCH_MINIMAP_FRAME.path, Texture.class);
-        assetManager.load(TexturePath.PLAYER_MARK.path, Texture.class);
-        assetManager.load(TexturePath.EVENT_BACKGROUND.path, Texture.class);
-        assetManager.load(TexturePath.SAFEZONE.path, Texture.class);
-        assetManager.load(TexturePath.DANGER_ZONE.path, Texture.class);
-        assetManager.load(TexturePath.EMPTY_BAR.path, Texture.class);
-        assetManager.load(TexturePath.HEALTH_BAR.path, Texture.class);
-        assetManager.load(TexturePath.ARMOR_BAR.path, Texture.class);
-        assetManager.load(TexturePath.HEALTH_ICON.path, Texture.class);
-        assetManager.load(TexturePath.ARMOR_ICON.path, Texture.class);
-        assetManager.load(TexturePath.VIGNETTE.path, Texture.class);
-        assetManager.load(TexturePath.INTERACTION_BUTTON.path, Texture.class);
-        assetManager.load(TexturePath.EXCHANGE_ICON.path, Texture.class);
-        assetManager.load(TexturePath.EMPTY_SLOT.path, Texture.class);
-        assetManager.load(TexturePath.MEDKIT_ICON.path, Texture.class);
-        assetManager.load(TexturePath.INVENTORY.path, Texture.class);
-        assetManager.load(TexturePath.INVISIBLE_SLOT.path, Texture.class);
-        assetManager.load(TexturePath.SELECTED_SLOT.path, Texture.class);
-        assetManager.load(TexturePath.GENERIC_PROGRESS_BAR.path, Texture.class);
-        assetManager.load(TexturePath.SOLDIER_BODY.path, Texture.class);
-        assetManager.load(TexturePath.COMBAT_HELMET.path, Texture.class);
-        assetManager.load(TexturePath.HALF_HELMET.path, Texture.class);
-        assetManager.load(TexturePath.MILITARY_VEST.path, Texture.class);
-        assetManager.load(TexturePath.SOFT_VEST.path, Texture.class);
-        assetManager.load(TexturePath.AW3.path, Texture.class);
-        assetManager.load(TexturePath.G21.path, Texture.class);
-        assetManager.load(TexturePath.M20.path, Texture.class);
-        assetManager.load(TexturePath.P26.path, Texture.class);
-        assetManager.load(TexturePath.STAR.path, Texture.class);
-        assetManager.load(TexturePath.W16A.path, Texture.class);
-        assetManager.load(TexturePath.FIVE_FIVE_SIX.path, Texture.class);
-        assetManager.load(TexturePath.NINE.path, Texture.class);
-        assetManager.load(TexturePath.SEVEN_SIX_TWO.path, Texture.class);
-        assetManager.load(TexturePath.BULLET.path, Texture.class);
-        assetManager.load(TexturePath.POINTLIGHT.path, Texture.class);
-        assetManager.load(TexturePath.SAFEZONE_EXPANDED.path, Texture.class);
-        assetManager.load(TexturePath.NEXT_SAFEZONE_EXPANDED.path, Texture.class);
-        assetManager.load(TexturePath.WATER_BACKGROUND.path, Texture.class);
-        assetManager.load(TexturePath.DEAD_LOOT.path, Texture.class);
-        assetManager.load(TexturePath.ALIVE_INDICATOR_BG.path, Texture.class);
-        assetManager.load(TexturePath.THIN_ARROW.path, Texture.class);
-        assetManager.load(TexturePath.SAILING.path, Texture.class);
-        assetManager.load(TexturePath.IS_DED.path, Texture.class);
-        assetManager.finishLoading();
+    public void loadHeadlessMatchResources() {
+        // only the map data is loaded, every texture lookup resolves to null
+        isHeadless = true;
+        assets.setLoader(TiledMap.class, new HeadlessTmxMapLoader(new InternalFileHandleResolver()));
+        acquire(TiledMapPath.TILEMAP.path, TiledMap.class);
+        acquire(TiledMapPath.OVER_TILEMAP.path, TiledMap.class);
+        assets.finishLoading();
     }
 
     public Texture getTexture(TexturePath texture) {
-        return assetManager.get(texture.path, Texture.class);
+        if (isHeadless) {
+            return null;
+        }
+        return assets.get(texture.path, Texture.class);
     }
 
     public TextureAtlas getTextureAtlas(TextureAtlasPath textureAtlas) {
-        return assetManager.get(textureAtlas.path, TextureAtlas.class);
+        if (isHeadless) {
+            return null;
+        }
+        return assets.get(textureAtlas.path, TextureAtlas.class);
     }
 
     public Skin getSkin(SkinPaths skinPaths) {
         Skin skin = new Skin();
-        skin.add(skinPaths.fontName, FontGenerator.generate(skinPaths.fontPath, skinPaths.fontSize, false));
-        skin.addRegions(new TextureAtlas(Gdx.files.internal(skinPaths.atlasPath.path)));
+        skin.add(skinPaths.fontName, getFont(skinPaths.fontPath, skinPaths.fontSize, false));
+        acquire(skinPaths.atlasPath.path, TextureAtlas.class);
+        assets.finishLoadingAsset(skinPaths.atlasPath.path);
+        skin.addRegions(assets.get(skinPaths.atlasPath.path, TextureAtlas.class));
         skin.load(Gdx.files.internal(skinPaths.path));
+        skins.put(skin, skinPaths);
         return skin;
     }
 
+    public BitmapFont getFont(FontPath fontPath, int size, boolean hasShadow) {
+        // each handler holds one reference per font, released along with its assets
+        if (acquiredFonts.add(FontCache.getKey(fontPath, size, hasShadow))) {
+            return fontCache.acquire(fontPath, size, hasShadow);
+        }
+        return fontCache.get(fontPath, size, hasShadow);
+    }
+
     public Pixmap getPixmap(PixmapPath pixmap) {
-        return assetManager.get(pixmap.path, Pixmap.class);
+        if (isHeadless) {
+            return null;
+        }
+        return assets.get(pixmap.path, Pixmap.class);
     }
 
     public TiledMap getTiledMap(TiledMapPath tiledmap) {
-        return assetManager.get(tiledmap.path, TiledMap.class);
+        return assets.get(tiledmap.path, TiledMap.class);
+    }
+
+    public boolean isHeadless() {
+        return isHeadless;
     }
 
     @Override
     public void dispose() {
-        assetManager.dispose();
+        // the font of a skin comes from the shared cache, so it is taken out before the skin is disposed
+        for (ObjectMap.Entry<Skin, SkinPaths> skin : skins) {
+            skin.key.remove(skin.value.fontName, BitmapFont.class);
+            skin.key.dispose();
+        }
+        skins.clear();
+        // the released assets stay loaded until the service runs out of its memory budget
+        for (String path : acquiredPaths) {
+            assets.release(path);
+        }
+        acquiredPaths.clear();
+        IntSet.IntSetIterator fonts = acquiredFonts.iterator();
+        while (fonts.hasNext) {
+            fontCache.release(fonts.next());
+        }
+        acquiredFonts.clear();
     }
 }
@@ -0,0 +1,33 @@
+package com.bressio.rendezvous.graphics;
+
+public enum SoldierLayer {
+    MILITARY_VEST("military-vest", "mv"),
+    SOFT_VEST("soft-vest", "sv"),
+    COMBAT_HELMET("combat-helmet", "ct"),
+    HALF_HELMET("half-helmet", "ht");
+
+    SoldierLayer(String region, String abbreviation) {
+        this.region = region;
+        this.abbreviation = abbreviation;
+    }
+
+    private String region;
+    private String abbreviation;
+
+    // each equipment layer is drawn over the pose of the held item, so it is packed once per pose
+    public String getRegion(AnimationRegion pose) { return pose.getRegion() + "-" + region + "-layer"; }
+    public String getAbbreviation() { return abbreviation; }
+    public String getName() { return region; }
+
+    // a whole equipped soldier, packed in place of the layers when stacking them can't reproduce its strip
+    public static String getRegion(AnimationRegion pose, SoldierLayer armor, SoldierLayer helmet) {
+        String region = pose.getRegion();
+        if (armor != null) {
+            region += "-" + armor.region;
+        }
+        if (helmet != null) {
+            region += "-" + helmet.region;
+        }
+        return region;
+    }
+}
@@ -0,0 +1,369 @@
+package com.bressio.rendezvous.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+
+public class TileChunkRenderer implements Disposable {
+
+    private static final int CHUNK_SIZE = 16;
+    private static final int NONE = -1;
+    // a group fades in or out completely in a quarter of a second
+    private static final float FADE_SPEED = 4;
+
+    private static final String VERTEX_SHADER =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "uniform float u_alpha;\n" +
+            "varying vec4 v_color;\n" +
+            "varying vec2 v_texCoords;\n" +
+            "void main() {\n" +
+            "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "    v_color.a = v_color.a * u_alpha;\n" +
+            "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "}\n";
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "varying vec4 v_color;\n" +
+            "varying vec2 v_texCoords;\n" +
+            "uniform sampler2D u_texture;\n" +
+            "void main() {\n" +
+            "    gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n" +
+            "}\n";
+
+    private final Array<TiledMapTileLayer> staticLayers;
+    private final Array<TiledMapTileLayer> dynamicLayers;
+    private final float unitScale;
+    private final float tileWidth;
+    private final float tileHeight;
+    private final int columns;
+    private final int rows;
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final int[] staticChunks;
+    private final int[] dynamicChunks;
+    private final Sprite tile;
+    private SpriteCache staticCache;
+    private SpriteCache dynamicCache;
+    private ShaderProgram dynamicShader;
+    private OrthographicCamera camera;
+    private boolean isDynamicBaked;
+    private int renderCalls;
+
+    // groups of dynamic cells, each one faded with its own alpha
+    private final Array<IntArray> groupCells;
+    private final FloatArray groupAlphas;
+    private final FloatArray groupTargetAlphas;
+    // the cells claimed by the same groups are baked together, and drawn with the highest alpha among them
+    private final Array<IntArray> partClaimants;
+    private final IntArray partBounds;
+    private final IntArray partCaches;
+
+    public TileChunkRenderer(TiledMap map, float unitScale, int dynamicLayerIndex) {
+        this.unitScale = unitScale;
+        staticLayers = new Array<>();
+        dynamicLayers = new Array<>();
+        // the hidden layers are left out, as the tiled map renderer would skip them every frame
+        for (int i = 0; i < map.getLayers().getCount(); i++) {
+            MapLayer layer = map.getLayers().get(i);
+            if (layer instanceof TiledMapTileLayer && layer.isVisible()) {
+                (i == dynamicLayerIndex ? dynamicLayers : staticLayers).add((TiledMapTileLayer) layer);
+            }
+        }
+        TiledMapTileLayer referenceLayer = map.getLayers().getByType(TiledMapTileLayer.class).first();
+        tileWidth = referenceLayer.getTileWidth() * unitScale;
+        tileHeight = referenceLayer.getTileHeight() * unitScale;
+        columns = referenceLayer.getWidth();
+        rows = referenceLayer.getHeight();
+        chunkColumns = MathUtils.ceil((float) columns / CHUNK_SIZE);
+        chunkRows = MathUtils.ceil((float) rows / CHUNK_SIZE);
+        staticChunks = new int[chunkColumns * chunkRows];
+        dynamicChunks = new int[chunkColumns * chunkRows];
+        tile = new Sprite();
+        groupCells = new Array<>();
+        groupAlphas = new FloatArray();
+        groupTargetAlphas = new FloatArray();
+        partClaimants = new Array<>();
+        partBounds = new IntArray();
+        partCaches = new IntArray();
+        staticCache = bakeStaticLayers();
+    }
+
+    private SpriteCache bakeStaticLayers() {
+        Arrays.fill(staticChunks, NONE);
+        int size = countTiles(staticLayers);
+        if (size == 0) {
+            return null;
+        }
+        // one cache per chunk, drawn as a single call with the vertices already on the GPU
+        SpriteCache cache = new SpriteCache(size, false);
+        for (int chunk = 0; chunk < staticChunks.length; chunk++) {
+            cache.beginCache();
+            int tiles = addChunk(cache, staticLayers, chunk, null);
+            int cacheId = cache.endCache();
+            if (tiles > 0) {
+                staticChunks[chunk] = cacheId;
+            }
+        }
+        return cache;
+    }
+
+    private void bakeDynamicLayers() {
+        Arrays.fill(dynamicChunks, NONE);
+        int size = countTiles(dynamicLayers);
+        if (size == 0) {
+            return;
+        }
+        // every cell is baked once, a cell shared by several groups goes into the part of all its claimants
+        IntArray[] claimants = new IntArray[columns * rows];
+        for (int group = 0; group < groupCells.size; group++) {
+            IntArray cells = groupCells.get(group);
+            for (int i = 0; i < cells.size; i++) {
+                int cell = cells.get(i);
+                if (claimants[cell] == null) {
+                    claimants[cell] = new IntArray();
+                }
+                if (!claimants[cell].contains(group)) {
+                    claimants[cell].add(group);
+                }
+            }
+        }
+        ObjectMap<IntArray, IntArray> parts = new ObjectMap<>();
+        for (int cell = 0; cell < claimants.length; cell++) {
+            if (claimants[cell] != null) {
+                IntArray cells = parts.get(claimants[cell]);
+                if (cells == null) {
+                    cells = new IntArray();
+                    parts.put(claimants[cell], cells);
+                }
+                cells.add(cell);
+            }
+        }
+
+        dynamicShader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!dynamicShader.isCompiled()) {
+            throw new GdxRuntimeException("Error compiling the dynamic tile shader: " + dynamicShader.getLog());
+        }
+        dynamicCache = new SpriteCache(size, dynamicShader, false);
+        for (ObjectMap.Entry<IntArray, IntArray> part : parts) {
+            addPart(part.key, part.value);
+        }
+        // the cells left out of every group are drawn by chunk, always opaque
+        for (int chunk = 0; chunk < dynamicChunks.length; chunk++) {
+            dynamicCache.beginCache();
+            int tiles = addChunk(dynamicCache, dynamicLayers, chunk, claimants);
+            int cacheId = dynamicCache.endCache();
+            if (tiles > 0) {
+                dynamicChunks[chunk] = cacheId;
+            }
+        }
+    }
+
+    private void addPart(IntArray groups, IntArray cells) {
+        int minColumn = columns, minRow = rows, maxColumn = 0, maxRow = 0;
+        dynamicCache.beginCache();
+        for (TiledMapTileLayer layer : dynamicLayers) {
+            for (int i = 0; i < cells.size; i++) {
+                int column = cells.get(i) % columns;
+                int row = cells.get(i) / columns;
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                if (getTile(layer, column, row) != null) {
+                    addTile(dynamicCache, layer, column, row);
+                }
+            }
+        }
+        partCaches.add(dynamicCache.endCache());
+        partClaimants.add(groups);
+        partBounds.addAll(minColumn, minRow, maxColumn, maxRow);
+    }
+
+    private int countTiles(Array<TiledMapTileLayer> layers) {
+        int tiles = 0;
+        for (TiledMapTileLayer layer : layers) {
+            for (int row = 0; row < layer.getHeight(); row++) {
+                for (int column = 0; column < layer.getWidth(); column++) {
+                    if (getTile(layer, column, row) != null) {
+                        tiles++;
+                    }
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private int addChunk(SpriteCache cache, Array<TiledMapTileLayer> layers, int chunk, IntArray[] claimants) {
+        int firstColumn = chunk % chunkColumns * CHUNK_SIZE;
+        int firstRow = chunk / chunkColumns * CHUNK_SIZE;
+        int lastColumn = Math.min(firstColumn + CHUNK_SIZE, columns);
+        int lastRow = Math.min(firstRow + CHUNK_SIZE, rows);
+        int tiles = 0;
+        for (TiledMapTileLayer layer : layers) {
+            for (int row = firstRow; row < lastRow; row++) {
+                for (int column = firstColumn; column < lastColumn; column++) {
+                    if ((claimants == null || claimants[row * columns + column] == null) &&
+                            getTile(layer, column, row) != null) {
+                        addTile(cache, layer, column, row);
+                        tiles++;
+                    }
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private void addTile(SpriteCache cache, TiledMapTileLayer layer, int column, int row) {
+        TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+        TiledMapTile mapTile = cell.getTile();
+        float width = mapTile.getTextureRegion().getRegionWidth() * unitScale;
+        float height = mapTile.getTextureRegion().getRegionHeight() * unitScale;
+        tile.setRegion(mapTile.getTextureRegion());
+        tile.setFlip(cell.getFlipHorizontally(), cell.getFlipVertically());
+        tile.setBounds(column * tileWidth + mapTile.getOffsetX() * unitScale,
+                row * tileHeight + mapTile.getOffsetY() * unitScale, width, height);
+        tile.setOrigin(width / 2, height / 2);
+        tile.setRotation(cell.getRotation() * 90);
+        tile.setColor(1, 1, 1, layer.getOpacity());
+        cache.add(tile);
+    }
+
+    private TiledMapTile getTile(TiledMapTileLayer layer, int column, int row) {
+        TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+        return cell == null ? null : cell.getTile();
+    }
+
+    public int addDynamicGroup(IntArray cells) {
+        // the cells are indexed row * columns + column, they are baked along with the rest on the first draw
+        groupCells.add(cells);
+        groupAlphas.add(1);
+        groupTargetAlphas.add(1);
+        return groupCells.size - 1;
+    }
+
+    public void setDynamicGroupVisible(int group, boolean isVisible) {
+        groupTargetAlphas.set(group, isVisible ? 1 : 0);
+    }
+
+    public void update(float delta) {
+        for (int group = 0; group < groupAlphas.size; group++) {
+            float alpha = groupAlphas.get(group);
+            float targetAlpha = groupTargetAlphas.get(group);
+            if (alpha != targetAlpha) {
+                groupAlphas.set(group, alpha < targetAlpha ?
+                        Math.min(targetAlpha, alpha + FADE_SPEED * delta) :
+                        Math.max(targetAlpha, alpha - FADE_SPEED * delta));
+            }
+        }
+    }
+
+    public void setView(OrthographicCamera camera) {
+        this.camera = camera;
+    }
+
+    public void render() {
+        if (!isDynamicBaked) {
+            bakeDynamicLayers();
+            isDynamicBaked = true;
+        }
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        int minColumn = MathUtils.clamp((int) ((camera.position.x - halfWidth) / tileWidth), 0, columns - 1);
+        int maxColumn = MathUtils.clamp((int) ((camera.position.x + halfWidth) / tileWidth), 0, columns - 1);
+        int minRow = MathUtils.clamp((int) ((camera.position.y - halfHeight) / tileHeight), 0, rows - 1);
+        int maxRow = MathUtils.clamp((int) ((camera.position.y + halfHeight) / tileHeight), 0, rows - 1);
+
+        renderCalls = 0;
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        // the dynamic layer is drawn over every static one
+        renderChunks(staticCache, staticChunks, minColumn, minRow, maxColumn, maxRow);
+        if (dynamicCache != null) {
+            dynamicCache.setProjectionMatrix(camera.combined);
+            dynamicCache.begin();
+            dynamicShader.setUniformf("u_alpha", 1);
+            drawChunks(dynamicCache, dynamicChunks, minColumn, minRow, maxColumn, maxRow);
+            renderParts(minColumn, minRow, maxColumn, maxRow);
+            dynamicCache.end();
+            renderCalls += dynamicCache.renderCalls;
+        }
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private void renderChunks(SpriteCache cache, int[] chunks, int minColumn, int minRow, int maxColumn, int maxRow) {
+        if (cache == null) {
+            return;
+        }
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        drawChunks(cache, chunks, minColumn, minRow, maxColumn, maxRow);
+        cache.end();
+        renderCalls += cache.renderCalls;
+    }
+
+    private void drawChunks(SpriteCache cache, int[] chunks, int minColumn, int minRow, int maxColumn, int maxRow) {
+        for (int row = minRow / CHUNK_SIZE; row <= maxRow / CHUNK_SIZE; row++) {
+            for (int column = minColumn / CHUNK_SIZE; column <= maxColumn / CHUNK_SIZE; column++) {
+                int cacheId = chunks[row * chunkColumns + column];
+                if (cacheId != NONE) {
+                    cache.draw(cacheId);
+                }
+            }
+        }
+    }
+
+    private void renderParts(int minColumn, int minRow, int maxColumn, int maxRow) {
+        for (int part = 0; part < partCaches.size; part++) {
+            IntArray groups = partClaimants.get(part);
+            float alpha = 0;
+            for (int i = 0; i < groups.size; i++) {
+                alpha = Math.max(alpha, groupAlphas.get(groups.get(i)));
+            }
+            int bounds = part * 4;
+            if (alpha > 0 &&
+                    partBounds.get(bounds) <= maxColumn && partBounds.get(bounds + 2) >= minColumn &&
+                    partBounds.get(bounds + 1) <= maxRow && partBounds.get(bounds + 3) >= minRow) {
+                // each cache is drawn right away, so the alpha only applies to this part
+                dynamicShader.setUniformf("u_alpha", alpha);
+                dynamicCache.draw(partCaches.get(part));
+            }
+        }
+    }
+
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    @Override
+    public void dispose() {
+        if (staticCache != null) {
+            staticCache.dispose();
+        }
+        if (dynamicCache != null) {
+            dynamicCache.dispose();
+            dynamicShader.dispose();
+        }
+    }
+}
@@ -12,7 +12,6 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.bressio.rendezvous.Rendezvous;
 import com.bressio.rendezvous.entities.Enemy;
-import com.bressio.rendezvous.graphics.FontGenerator;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.MainMenu;
 import com.bressio.rendezvous.scenes.Match;
@@ -78,16 +77,16 @@ public class GameOver implements Disposable {
         }
 
         window.add(new Label(match.getI18n().getBundle().get("rank") + " #" + rank,
-                new Label.LabelStyle(FontGenerator.generate(ResourceHandler.FontPath.BOMBARD,
+                new Label.LabelStyle(match.getResources().getFont(ResourceHandler.FontPath.BOMBARD,
                         18, false), Color.WHITE))).padTop(20).row();
 
         window.add(new Label(match.getI18n().getBundle().get("kills") + ": " + match.getPlayer().getKills(),
-                new Label.LabelStyle(FontGenerator.generate(ResourceHandler.FontPath.BOMBARD,
+                new Label.LabelStyle(match.getResources().getFont(ResourceHandler.FontPath.BOMBARD,
                         18, false), Color.WHITE))).padTop(5).row();
 
         window.add(new Label(match.getI18n().getBundle().get("matchDuration") + ": " +
                 PhysicsAdapter.formatSeconds(match.getMatchDuration(), false),
-                new Label.LabelStyle(FontGenerator.generate(ResourceHandler.FontPath.BOMBARD,
+                new Label.LabelStyle(match.getResources().getFont(ResourceHandler.FontPath.BOMBARD,
                         18, false), Color.WHITE))).padTop(5).row();
 
         TextButton backButton = new TextButton(match.getI18n().getBundle().get("pauseMenuBack"), skin);
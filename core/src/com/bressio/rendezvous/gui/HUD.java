@@ -13,14 +13,16 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
 import com.badlogic.gdx.utils.Disposable;
-import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.bressio.rendezvous.entities.Enemy;
 import com.bressio.rendezvous.entities.objects.Empty;
+import com.bressio.rendezvous.entities.objects.EntityObject;
 import com.bressio.rendezvous.entities.objects.Inventory;
+import com.bressio.rendezvous.events.TickScheduler;
 import com.bressio.rendezvous.forge.WorldBuilder;
-import com.bressio.rendezvous.graphics.FontGenerator;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 
@@ -58,6 +60,8 @@ public class HUD implements Disposable {
     private Image inventoryBackground;
     private Image selectionMarker;
     private ArrayList<Image> items;
+    private EntityObject[] shownItems;
+    private ObjectMap<Texture, SpriteDrawable> itemDrawables;
     private int selectedSlot;
 
     private Texture vignette;
@@ -69,7 +73,32 @@ public class HUD implements Disposable {
 
     private Label killFeedback;
 
+    private Label.LabelStyle rendezvousEventStyle;
+    private Label.LabelStyle regularEventStyle;
+
+    // the labels are only rewritten when their value changes, through builders reused every time
+    private StringBuilder healthText;
+    private StringBuilder armorText;
+    private StringBuilder ammoText;
+    private StringBuilder aliveText;
+    private StringBuilder killsText;
+    private int shownHealth;
+    private int shownArmor;
+    private int shownBulletsInMagazine;
+    private int shownBulletsInAmmoBoxes;
+    private int shownAlive;
+    private int shownKills;
+
     private int kills;
+    private long killFeedbackTimeout = TickScheduler.NO_TASK;
+
+    private final Runnable hideKillFeedback = new Runnable() {
+        @Override
+        public void run() {
+            killFeedback.setText("");
+            killFeedback.setVisible(false);
+        }
+    };
 
     public HUD(Match match) {
         this.match = match;
@@ -86,6 +115,17 @@ public class HUD implements Disposable {
 
     private void init() {
         kills = 0;
+        healthText = new StringBuilder();
+        armorText = new StringBuilder();
+        ammoText = new StringBuilder();
+        aliveText = new StringBuilder();
+        killsText = new StringBuilder();
+        shownHealth = -1;
+        shownArmor = -1;
+        shownBulletsInMagazine = -2;
+        shownBulletsInAmmoBoxes = -2;
+        shownAlive = -1;
+        shownKills = -1;
     }
 
     private void setupStage() {
@@ -104,17 +144,18 @@ public class HUD implements Disposable {
         table.top();
         table.setFillParent(true);
 
-        event = new Label("",
-                new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 12, false),
-                        Color.WHITE
-                )
+        rendezvousEventStyle = new Label.LabelStyle(
+                match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 26, false), Color.WHITE
+        );
+        regularEventStyle = new Label.LabelStyle(
+                match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 12, false), Color.WHITE
         );
+        event = new Label("", regularEventStyle);
         table.add(event).fillX().padTop(3).row();
 
         timeToNextEvent = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 22, false),
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 22, false),
                         Color.WHITE
                 )
         );
@@ -145,13 +186,13 @@ public class HUD implements Disposable {
 
         armorPoints = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 14, false), Color.WHITE
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 14, false), Color.WHITE
                 )
         );
         table.add(armorPoints).padBottom(3).padLeft(-350).row();
         healthPoints = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 14, false), Color.WHITE
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 14, false), Color.WHITE
                 )
         );
         table.add(healthPoints).padBottom(15).padLeft(-350);
@@ -161,6 +202,8 @@ public class HUD implements Disposable {
 
     private void forgeInventory() {
         items = new ArrayList<>();
+        shownItems = new EntityObject[6];
+        itemDrawables = new ObjectMap<>();
         inventoryBackground = new Image(match.getResources().getTexture(ResourceHandler.TexturePath.INVENTORY));
         inventoryBackground.setPosition(GAME_WIDTH - 366, 10);
         stage.addActor(inventoryBackground);
@@ -188,7 +231,7 @@ public class HUD implements Disposable {
 
         ammoIndicator = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 22, false), Color.WHITE
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 22, false), Color.WHITE
                 )
         );
         table.add(ammoIndicator).padBottom(60).row();
@@ -206,7 +249,7 @@ public class HUD implements Disposable {
         table.setFillParent(true);
         aliveIndicator = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("afafaf")
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("afafaf")
                 )
         );
         table.add(aliveIndicator).padTop(6).padLeft(6).row();
@@ -227,7 +270,7 @@ public class HUD implements Disposable {
 
         killsIndicator = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("afafaf")
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("afafaf")
                 )
         );
         table.add(killsIndicator).padTop(6).padRight(6).row();
@@ -245,7 +288,7 @@ public class HUD implements Disposable {
         table.setFillParent(true);
         killFeedback = new Label( "",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("ce3535")
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 26, false), Color.valueOf("ce3535")
                 )
         );
         table.add(killFeedback).padTop(250);
@@ -311,18 +354,31 @@ public class HUD implements Disposable {
     }
 
     public void updateHealthBars(float delta, int health, int armor) {
-        armorPoints.setText(String.valueOf(armor));
-        healthPoints.setText(String.valueOf(health));
+        if (armor != shownArmor) {
+            shownArmor = armor;
+            armorText.setLength(0);
+            armorPoints.setText(armorText.append(armor));
+        }
+        if (health != shownHealth) {
+            shownHealth = health;
+            healthText.setLength(0);
+            healthPoints.setText(healthText.append(health));
+        }
     }
 
     public void updateAmmoIndicator(float delta, Inventory inventory) {
         int bulletsInMagazine = inventory.getBulletsInMagazine();
         int bulletsInAmmoBoxes = inventory.getBulletsInAmmoBoxes();
+        if (bulletsInMagazine == shownBulletsInMagazine && bulletsInAmmoBoxes == shownBulletsInAmmoBoxes) {
+            return;
+        }
+        shownBulletsInMagazine = bulletsInMagazine;
+        shownBulletsInAmmoBoxes = bulletsInAmmoBoxes;
+        ammoText.setLength(0);
         if (bulletsInMagazine != -1 && bulletsInAmmoBoxes != -1) {
-            ammoIndicator.setText(bulletsInMagazine + " | " + bulletsInAmmoBoxes);
-        } else {
-            ammoIndicator.setText("");
+            ammoText.append(bulletsInMagazine).append(" | ").append(bulletsInAmmoBoxes);
         }
+        ammoIndicator.setText(ammoText);
     }
 
     public void updateEnemyStatus(float delta, WorldBuilder worldBuilder) {
@@ -332,24 +388,42 @@ public class HUD implements Disposable {
                 alive--;
             }
         }
-        aliveIndicator.setText(String.valueOf(alive));
-        killsIndicator.setText(String.valueOf(match.getPlayer().getKills()));
+        if (alive != shownAlive) {
+            shownAlive = alive;
+            aliveText.setLength(0);
+            aliveIndicator.setText(aliveText.append(alive));
+        }
+        if (match.getPlayer().getKills() != shownKills) {
+            shownKills = match.getPlayer().getKills();
+            killsText.setLength(0);
+            killsIndicator.setText(killsText.append(shownKills));
+        }
     }
 
     public void updateInventory(float delta) {
         if (match.getPlayer() != null) {
             for (int i = 0; i < 6; i++) {
-                items.get(i).setDrawable(
-                        new SpriteDrawable(new Sprite(
-                                match.getPlayer().getInventory().getItems().get(i).getClass() == Empty.class ?
-                                        match.getResources().getTexture(ResourceHandler.TexturePath.INVISIBLE_SLOT) :
-                                        match.getPlayer().getInventory().getItems().get(i).getIcon()
-                        ))
-                );
+                EntityObject item = match.getPlayer().getInventory().getItems().get(i);
+                // a slot is only redrawn when another item was put in it
+                if (item != shownItems[i]) {
+                    shownItems[i] = item;
+                    items.get(i).setDrawable(getItemDrawable(item.getClass() == Empty.class ?
+                            match.getResources().getTexture(ResourceHandler.TexturePath.INVISIBLE_SLOT) :
+                            item.getIcon()));
+                }
             }
         }
     }
 
+    private SpriteDrawable getItemDrawable(Texture icon) {
+        SpriteDrawable drawable = itemDrawables.get(icon);
+        if (drawable == null) {
+            drawable = new SpriteDrawable(new Sprite(icon));
+            itemDrawables.put(icon, drawable);
+        }
+        return drawable;
+    }
+
     public void switchSelectedSlot(int slotIndex) {
         Vector2 newPos = getSelectionMarkerPosition(slotIndex);
         selectedSlot = slotIndex;
@@ -376,14 +450,10 @@ public class HUD implements Disposable {
         event.setText(eventLabel);
         if (isInRendezvous) {
             timeToNextEvent.setVisible(false);
-            event.setStyle(new Label.LabelStyle(
-                    FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 26, false), Color.WHITE
-            ));
+            event.setStyle(rendezvousEventStyle);
         } else {
             timeToNextEvent.setVisible(true);
-            event.setStyle(new Label.LabelStyle(
-                    FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 12, false), Color.WHITE
-            ));
+            event.setStyle(regularEventStyle);
         }
     }
 
@@ -391,13 +461,9 @@ public class HUD implements Disposable {
         killFeedback.setVisible(true);
         killFeedback.setText(kills + " " + match.getI18n().getBundle().get(kills > 1 ? "kills" : "kill"));
         this.kills = kills;
-        Timer.schedule(new Timer.Task(){
-            @Override
-            public void run() {
-                killFeedback.setText("");
-                killFeedback.setVisible(false);
-            }
-        }, 2);
+        // a new kill keeps the feedback on screen for another two seconds
+        match.getScheduler().cancel(killFeedbackTimeout);
+        killFeedbackTimeout = match.getScheduler().schedule(hideKillFeedback, 2);
     }
 
     @Override
@@ -18,7 +18,6 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 import com.bressio.rendezvous.entities.objects.*;
 import com.bressio.rendezvous.entities.objects.equipment.armor.Armor;
 import com.bressio.rendezvous.entities.objects.equipment.helmets.Helmet;
-import com.bressio.rendezvous.graphics.FontGenerator;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 
@@ -175,7 +174,7 @@ public class LootInterface implements Disposable {
         window.add(itemImage).padTop(10).row();
         if (item != null) {
             window.add(new Label(item.getName(),
-                    new Label.LabelStyle(FontGenerator.generate(ResourceHandler.FontPath.BOMBARD,
+                    new Label.LabelStyle(match.getResources().getFont(ResourceHandler.FontPath.BOMBARD,
                             14, false), Color.WHITE))).row();
         }
     }
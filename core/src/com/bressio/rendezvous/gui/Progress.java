@@ -10,7 +10,6 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.bressio.rendezvous.graphics.FontGenerator;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.scenes.Match;
 
@@ -59,7 +58,7 @@ public class Progress implements Disposable {
 
         activity = new Label("",
                 new Label.LabelStyle(
-                        FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 18, false),
+                        match.getResources().getFont(ResourceHandler.FontPath.BOMBARD, 18, false),
                         Color.WHITE
                 )
         );
@@ -0,0 +1,150 @@
+package com.bressio.rendezvous.navigation;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.Arrays;
+
+public class FlowField {
+
+    private static final float DIAGONAL_COST = 1.4142135f;
+    // the soldiers steer a few cells ahead, so they cut across the open ground instead of zigzagging
+    private static final int LOOKAHEAD_CELLS = 4;
+
+    private final NavigationGrid grid;
+    private final int columns;
+    private final float[] costs;
+    private final int[] nextCells;
+    private final boolean[] isSettled;
+
+    private int[] heapCells;
+    private float[] heapCosts;
+    private int heapSize;
+    private boolean isComplete;
+
+    public FlowField(NavigationGrid grid) {
+        this.grid = grid;
+        columns = grid.getColumns();
+        int cellCount = grid.getColumns() * grid.getRows();
+        costs = new float[cellCount];
+        nextCells = new int[cellCount];
+        isSettled = new boolean[cellCount];
+        heapCells = new int[1024];
+        heapCosts = new float[1024];
+        Arrays.fill(nextCells, -1);
+    }
+
+    public void setGoal(Vector2 goal) {
+        // a single search out of the goal gives every walkable cell its next step toward it
+        Arrays.fill(costs, Float.MAX_VALUE);
+        Arrays.fill(nextCells, -1);
+        Arrays.fill(isSettled, false);
+        heapSize = 0;
+        isComplete = false;
+        int goalCell = grid.getNearestWalkableCell(grid.getCell(goal.x, goal.y));
+        if (goalCell != -1) {
+            costs[goalCell] = 0;
+            nextCells[goalCell] = goalCell;
+            push(goalCell, 0);
+        }
+    }
+
+    public boolean expand(int cellBudget) {
+        // the search is spread over several ticks, each one settles up to the given amount of cells
+        int settledCells = 0;
+        while (heapSize > 0 && settledCells < cellBudget) {
+            int cell = pop();
+            if (isSettled[cell]) {
+                continue;
+            }
+            isSettled[cell] = true;
+            settledCells++;
+
+            int column = cell % columns;
+            int row = cell / columns;
+            for (int offsetY = -1; offsetY <= 1; offsetY++) {
+                for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                    if ((offsetX == 0 && offsetY == 0) || !grid.isWalkable(column + offsetX, row + offsetY)) {
+                        continue;
+                    }
+                    boolean isDiagonal = offsetX != 0 && offsetY != 0;
+                    if (isDiagonal && (!grid.isWalkable(column + offsetX, row) ||
+                            !grid.isWalkable(column, row + offsetY))) {
+                        continue;
+                    }
+                    int neighbor = cell + offsetY * columns + offsetX;
+                    float cost = costs[cell] + (isDiagonal ? DIAGONAL_COST : 1);
+                    if (cost < costs[neighbor]) {
+                        costs[neighbor] = cost;
+                        nextCells[neighbor] = cell;
+                        push(neighbor, cost);
+                    }
+                }
+            }
+        }
+        isComplete = heapSize == 0;
+        return isComplete;
+    }
+
+    public Vector2 getWaypoint(Vector2 position, Vector2 waypoint) {
+        // null while the field is being built or when the position can't reach the goal
+        if (!isComplete) {
+            return null;
+        }
+        int cell = grid.getNearestWalkableCell(grid.getCell(position.x, position.y));
+        if (cell == -1 || nextCells[cell] == -1) {
+            return null;
+        }
+        // the next cell is always reachable, the ones further ahead only while nothing blocks the straight line to them
+        int startCell = cell;
+        int waypointCell = nextCells[cell];
+        for (int i = 1; i < LOOKAHEAD_CELLS && nextCells[waypointCell] != waypointCell; i++) {
+            int aheadCell = nextCells[waypointCell];
+            if (!grid.isInLineOfSight(startCell, aheadCell)) {
+                break;
+            }
+            waypointCell = aheadCell;
+        }
+        return grid.getCellCenter(waypointCell, waypoint);
+    }
+
+    private void push(int cell, float cost) {
+        if (heapSize == heapCells.length) {
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+        }
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heapCosts[parent] <= cost) {
+                break;
+            }
+            heapCells[index] = heapCells[parent];
+            heapCosts[index] = heapCosts[parent];
+            index = parent;
+        }
+        heapCells[index] = cell;
+        heapCosts[index] = cost;
+    }
+
+    private int pop() {
+        int top = heapCells[0];
+        int lastCell = heapCells[--heapSize];
+        float lastCost = heapCosts[heapSize];
+        int index = 0;
+        while (index * 2 + 1 < heapSize) {
+            int child = index * 2 + 1;
+            if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) {
+                child++;
+            }
+            if (heapCosts[child] >= lastCost) {
+                break;
+            }
+            heapCells[index] = heapCells[child];
+            heapCosts[index] = heapCosts[child];
+            index = child;
+        }
+        heapCells[index] = lastCell;
+        heapCosts[index] = lastCost;
+        return top;
+    }
+}
@@ -0,0 +1,224 @@
+package com.bressio.rendezvous.navigation;
+
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.Ellipse;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.bressio.rendezvous.forge.WorldBuilder;
+
+import java.util.BitSet;
+
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
+
+public class NavigationGrid {
+
+    // half a tile, fine enough to keep the building doors open after the obstacles are inflated
+    private static final float CELL_SIZE = pScale(16);
+    private static final int MAX_SNAP_DISTANCE = 6;
+
+    private final TiledMap map;
+    private final float clearance;
+    private final int columns;
+    private final int rows;
+    private final BitSet blocked;
+
+    private final Vector2 cellCenter;
+    private final Vector2 segmentStart;
+    private final Vector2 segmentEnd;
+
+    public NavigationGrid(TiledMap map, float clearance) {
+        this.map = map;
+        this.clearance = clearance;
+        MapProperties properties = map.getProperties();
+        columns = (int) Math.ceil(pScale(properties.get("width", Integer.class) *
+                properties.get("tilewidth", Integer.class)) / CELL_SIZE);
+        rows = (int) Math.ceil(pScale(properties.get("height", Integer.class) *
+                properties.get("tileheight", Integer.class)) / CELL_SIZE);
+        blocked = new BitSet(columns * rows);
+        cellCenter = new Vector2();
+        segmentStart = new Vector2();
+        segmentEnd = new Vector2();
+        bakePolygonalObstacles(WorldBuilder.Layer.OCEAN);
+        bakeEllipticalObstacles(WorldBuilder.Layer.ROCK);
+        bakeEllipticalObstacles(WorldBuilder.Layer.TREE);
+        bakeRectangularObstacles(WorldBuilder.Layer.BUILDING);
+    }
+
+    private void bakePolygonalObstacles(WorldBuilder.Layer layer) {
+        for (MapObject object :
+                map.getLayers().get(layer.index).getObjects().getByType(PolygonMapObject.class)) {
+            float[] vertices = pScale(((PolygonMapObject) object).getPolygon().getTransformedVertices());
+            Rectangle bounds = getBounds(vertices);
+            for (int row = getRow(bounds.y - clearance); row <= getRow(bounds.y + bounds.height + clearance); row++) {
+                for (int column = getColumn(bounds.x - clearance);
+                     column <= getColumn(bounds.x + bounds.width + clearance); column++) {
+                    getCellCenter(row * columns + column, cellCenter);
+                    if (Intersector.isPointInPolygon(vertices, 0, vertices.length, cellCenter.x, cellCenter.y) ||
+                            isNearEdge(vertices, cellCenter)) {
+                        blocked.set(row * columns + column);
+                    }
+                }
+            }
+        }
+    }
+
+    private void bakeEllipticalObstacles(WorldBuilder.Layer layer) {
+        for (MapObject object :
+                map.getLayers().get(layer.index).getObjects().getByType(EllipseMapObject.class)) {
+            // the bodies of ellipses are circles as wide as the ellipse, see WorldBuilder
+            Ellipse ellipse = ((EllipseMapObject) object).getEllipse();
+            float radius = pScaleCenter(ellipse.width) + clearance;
+            float x = pScale(ellipse.x + pCenter(ellipse.width));
+            float y = pScale(ellipse.y + pCenter(ellipse.width));
+            for (int row = getRow(y - radius); row <= getRow(y + radius); row++) {
+                for (int column = getColumn(x - radius); column <= getColumn(x + radius); column++) {
+                    getCellCenter(row * columns + column, cellCenter);
+                    if (cellCenter.dst2(x, y) < radius * radius) {
+                        blocked.set(row * columns + column);
+                    }
+                }
+            }
+        }
+    }
+
+    private void bakeRectangularObstacles(WorldBuilder.Layer layer) {
+        for (MapObject object :
+                map.getLayers().get(layer.index).getObjects().getByType(RectangleMapObject.class)) {
+            Rectangle rect = ((RectangleMapObject) object).getRectangle();
+            float left = pScale(rect.x) - clearance;
+            float right = pScale(rect.x + rect.width) + clearance;
+            float bottom = pScale(rect.y) - clearance;
+            float top = pScale(rect.y + rect.height) + clearance;
+            for (int row = getRow(bottom); row <= getRow(top); row++) {
+                for (int column = getColumn(left); column <= getColumn(right); column++) {
+                    getCellCenter(row * columns + column, cellCenter);
+                    if (cellCenter.x > left && cellCenter.x < right && cellCenter.y > bottom && cellCenter.y < top) {
+                        blocked.set(row * columns + column);
+                    }
+                }
+            }
+        }
+    }
+
+    private Rectangle getBounds(float[] vertices) {
+        float minX = vertices[0], maxX = vertices[0], minY = vertices[1], maxY = vertices[1];
+        for (int i = 2; i < vertices.length; i += 2) {
+            minX = Math.min(minX, vertices[i]);
+            maxX = Math.max(maxX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+        }
+        return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    private boolean isNearEdge(float[] vertices, Vector2 point) {
+        for (int i = 0; i < vertices.length; i += 2) {
+            int next = (i + 2) % vertices.length;
+            segmentStart.set(vertices[i], vertices[i + 1]);
+            segmentEnd.set(vertices[next], vertices[next + 1]);
+            if (Intersector.distanceSegmentPoint(segmentStart, segmentEnd, point) < clearance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isWalkable(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows && !blocked.get(row * columns + column);
+    }
+
+    public boolean isWalkable(int cell) {
+        return !blocked.get(cell);
+    }
+
+    public int getNearestWalkableCell(int cell) {
+        if (isWalkable(cell)) {
+            return cell;
+        }
+        int column = cell % columns;
+        int row = cell / columns;
+        for (int distance = 1; distance <= MAX_SNAP_DISTANCE; distance++) {
+            for (int offsetY = -distance; offsetY <= distance; offsetY++) {
+                for (int offsetX = -distance; offsetX <= distance; offsetX++) {
+                    if (Math.max(Math.abs(offsetX), Math.abs(offsetY)) == distance &&
+                            isWalkable(column + offsetX, row + offsetY)) {
+                        return (row + offsetY) * columns + column + offsetX;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    public boolean isInLineOfSight(int fromCell, int toCell) {
+        // walks every cell crossed by the segment between both cell centers
+        int column = fromCell % columns;
+        int row = fromCell / columns;
+        int targetColumn = toCell % columns;
+        int targetRow = toCell / columns;
+        int distanceX = Math.abs(targetColumn - column);
+        int distanceY = Math.abs(targetRow - row);
+        int stepX = column < targetColumn ? 1 : -1;
+        int stepY = row < targetRow ? 1 : -1;
+        int error = distanceX - distanceY;
+
+        while (true) {
+            if (!isWalkable(column, row)) {
+                return false;
+            }
+            if (column == targetColumn && row == targetRow) {
+                return true;
+            }
+            int doubledError = error * 2;
+            if (doubledError > -distanceY && doubledError < distanceX) {
+                // a diagonal step must not squeeze between two blocked corners
+                if (!isWalkable(column + stepX, row) || !isWalkable(column, row + stepY)) {
+                    return false;
+                }
+            }
+            if (doubledError > -distanceY) {
+                error -= distanceY;
+                column += stepX;
+            }
+            if (doubledError < distanceX) {
+                error += distanceX;
+                row += stepY;
+            }
+        }
+    }
+
+    public int getCell(float x, float y) {
+        return getRow(y) * columns + getColumn(x);
+    }
+
+    public Vector2 getCellCenter(int cell, Vector2 center) {
+        return center.set((cell % columns + .5f) * CELL_SIZE, (cell / columns + .5f) * CELL_SIZE);
+    }
+
+    private int getColumn(float x) {
+        return MathUtils.clamp((int) Math.floor(x / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int getRow(float y) {
+        return MathUtils.clamp((int) Math.floor(y / CELL_SIZE), 0, rows - 1);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public float getCellSize() {
+        return CELL_SIZE;
+    }
+}
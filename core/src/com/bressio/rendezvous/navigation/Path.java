@@ -0,0 +1,36 @@
+package com.bressio.rendezvous.navigation;
+
+import com.badlogic.gdx.math.Vector2;
+
+public class Path {
+
+    private final int[] cells;
+    private final float[] points;
+
+    Path(int[] cells, NavigationGrid grid) {
+        this.cells = cells;
+        points = new float[cells.length * 2];
+        Vector2 center = new Vector2();
+        for (int i = 0; i < cells.length; i++) {
+            grid.getCellCenter(cells[i], center);
+            points[i * 2] = center.x;
+            points[i * 2 + 1] = center.y;
+        }
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public float getX(int index) {
+        return points[index * 2];
+    }
+
+    public float getY(int index) {
+        return points[index * 2 + 1];
+    }
+
+    int getCell(int index) {
+        return cells[index];
+    }
+}
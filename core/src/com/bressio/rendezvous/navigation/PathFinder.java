@@ -0,0 +1,199 @@
+package com.bressio.rendezvous.navigation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PathFinder {
+
+    private static final float DIAGONAL_COST = 1.4142135f;
+    private static final int MAX_EXPANDED_CELLS = 100000;
+    private static final int CACHE_CAPACITY = 256;
+    // starts within the same block of cells share the cached paths to a goal
+    private static final int CACHE_REGION_SIZE = 4;
+
+    private final NavigationGrid grid;
+    private final int columns;
+    private final float[] costs;
+    private final int[] parents;
+    private final int[] openStamps;
+    private final int[] closedStamps;
+    private int stamp;
+
+    private int[] heapCells;
+    private float[] heapScores;
+    private int heapSize;
+
+    private final Map<Long, Path> cache;
+    // cached in place of the searches that failed, so a bot replanning toward an unreachable goal doesn't repeat them
+    private final Path unreachable;
+
+    public PathFinder(NavigationGrid grid) {
+        this.grid = grid;
+        columns = grid.getColumns();
+        int cellCount = grid.getColumns() * grid.getRows();
+        costs = new float[cellCount];
+        parents = new int[cellCount];
+        openStamps = new int[cellCount];
+        closedStamps = new int[cellCount];
+        heapCells = new int[1024];
+        heapScores = new float[1024];
+        unreachable = new Path(new int[0], grid);
+        cache = new LinkedHashMap<Long, Path>(CACHE_CAPACITY, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Path> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+    }
+
+    public Path findPath(Vector2 start, Vector2 goal) {
+        int startCell = grid.getNearestWalkableCell(grid.getCell(start.x, start.y));
+        int goalCell = grid.getNearestWalkableCell(grid.getCell(goal.x, goal.y));
+        if (startCell == -1 || goalCell == -1) {
+            return null;
+        }
+
+        long key = (long) getCacheRegion(startCell) << 32 | goalCell;
+        Path cachedPath = cache.get(key);
+        if (cachedPath == unreachable) {
+            return null;
+        }
+        // a cached path only fits this start if its first waypoint can be walked to in a straight line
+        if (cachedPath != null &&
+                (cachedPath.size() == 0 || grid.isInLineOfSight(startCell, cachedPath.getCell(0)))) {
+            return cachedPath;
+        }
+
+        Path path = search(startCell, goalCell);
+        cache.put(key, path != null ? path : unreachable);
+        return path;
+    }
+
+    private Path search(int startCell, int goalCell) {
+        // stamps tell which cells belong to the current search, so the arrays never have to be cleared
+        stamp++;
+        heapSize = 0;
+        costs[startCell] = 0;
+        parents[startCell] = -1;
+        openStamps[startCell] = stamp;
+        push(startCell, getHeuristic(startCell, goalCell));
+        int expandedCells = 0;
+
+        while (heapSize > 0 && expandedCells < MAX_EXPANDED_CELLS) {
+            int cell = pop();
+            if (closedStamps[cell] == stamp) {
+                continue;
+            }
+            if (cell == goalCell) {
+                return buildPath(startCell, goalCell);
+            }
+            closedStamps[cell] = stamp;
+            expandedCells++;
+
+            int column = cell % columns;
+            int row = cell / columns;
+            for (int offsetY = -1; offsetY <= 1; offsetY++) {
+                for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                    if ((offsetX == 0 && offsetY == 0) || !grid.isWalkable(column + offsetX, row + offsetY)) {
+                        continue;
+                    }
+                    boolean isDiagonal = offsetX != 0 && offsetY != 0;
+                    if (isDiagonal && (!grid.isWalkable(column + offsetX, row) ||
+                            !grid.isWalkable(column, row + offsetY))) {
+                        continue;
+                    }
+                    int neighbor = cell + offsetY * columns + offsetX;
+                    if (closedStamps[neighbor] == stamp) {
+                        continue;
+                    }
+                    float cost = costs[cell] + (isDiagonal ? DIAGONAL_COST : 1);
+                    if (openStamps[neighbor] != stamp || cost < costs[neighbor]) {
+                        openStamps[neighbor] = stamp;
+                        costs[neighbor] = cost;
+                        parents[neighbor] = cell;
+                        push(neighbor, cost + getHeuristic(neighbor, goalCell));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Path buildPath(int startCell, int goalCell) {
+        IntArray route = new IntArray();
+        for (int cell = goalCell; cell != -1; cell = parents[cell]) {
+            route.add(cell);
+        }
+        route.reverse();
+
+        // keeps only the turning points, the cells in between can be crossed in a straight line
+        IntArray waypoints = new IntArray();
+        int anchor = startCell;
+        for (int i = 1; i < route.size; i++) {
+            if (!grid.isInLineOfSight(anchor, route.get(i))) {
+                anchor = route.get(i - 1);
+                waypoints.add(anchor);
+            }
+        }
+        if (goalCell != startCell) {
+            waypoints.add(goalCell);
+        }
+        return new Path(waypoints.toArray(), grid);
+    }
+
+    private float getHeuristic(int cell, int goalCell) {
+        // octile distance, exact on an open grid with diagonal moves
+        int distanceX = Math.abs(cell % columns - goalCell % columns);
+        int distanceY = Math.abs(cell / columns - goalCell / columns);
+        return Math.max(distanceX, distanceY) + (DIAGONAL_COST - 1) * Math.min(distanceX, distanceY);
+    }
+
+    private int getCacheRegion(int cell) {
+        return (cell / columns / CACHE_REGION_SIZE) * columns + (cell % columns) / CACHE_REGION_SIZE;
+    }
+
+    private void push(int cell, float score) {
+        if (heapSize == heapCells.length) {
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapScores = Arrays.copyOf(heapScores, heapSize * 2);
+        }
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heapScores[parent] <= score) {
+                break;
+            }
+            heapCells[index] = heapCells[parent];
+            heapScores[index] = heapScores[parent];
+            index = parent;
+        }
+        heapCells[index] = cell;
+        heapScores[index] = score;
+    }
+
+    private int pop() {
+        int top = heapCells[0];
+        int lastCell = heapCells[--heapSize];
+        float lastScore = heapScores[heapSize];
+        int index = 0;
+        while (index * 2 + 1 < heapSize) {
+            int child = index * 2 + 1;
+            if (child + 1 < heapSize && heapScores[child + 1] < heapScores[child]) {
+                child++;
+            }
+            if (heapScores[child] >= lastScore) {
+                break;
+            }
+            heapCells[index] = heapCells[child];
+            heapScores[index] = heapScores[child];
+            index = child;
+        }
+        heapCells[index] = lastCell;
+        heapScores[index] = lastScore;
+        return top;
+    }
+}
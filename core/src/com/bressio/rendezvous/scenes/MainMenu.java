@@ -9,12 +9,10 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
-import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.bressio.rendezvous.Rendezvous;
 import com.bressio.rendezvous.events.InputTracker;
-import com.bressio.rendezvous.graphics.FontGenerator;
 import com.bressio.rendezvous.graphics.ResourceHandler;
 import com.bressio.rendezvous.languages.Internationalization;
 
@@ -24,11 +22,16 @@ import static com.bressio.rendezvous.scheme.PlayerSettings.GAME_WIDTH;
 
 public class MainMenu implements Screen {
 
+    // the time spent loading the match in each frame, so the loading screen keeps being drawn
+    private static final int LOADING_BUDGET_MILLIS = 12;
+
     // game
     private SpriteBatch batch;
     private ResourceHandler resources;
     private Internationalization i18n;
     private boolean isLoading;
+    private Match match;
+    private int shownLoadingProgress;
 
     // GUI
     private Skin skin;
@@ -43,6 +46,7 @@ public class MainMenu implements Screen {
     private Texture loadingScreen;
     private Label loadingLabel;
     private Image gameIcon;
+    private Cursor cursor;
 
     // rendering
     private OrthographicCamera camera;
@@ -82,8 +86,8 @@ public class MainMenu implements Screen {
 
     private void setupCursor() {
         Pixmap pixmap = resources.getPixmap(ResourceHandler.PixmapPath.MENU_CURSOR);
-        Gdx.graphics.setCursor(Gdx.graphics.newCursor(pixmap, 0, 0));
-        pixmap.dispose();
+        cursor = Gdx.graphics.newCursor(pixmap, 0, 0);
+        Gdx.graphics.setCursor(cursor);
     }
 
     private void forgeMenu() {
@@ -103,14 +107,11 @@ public class MainMenu implements Screen {
         playButton.addListener(new ClickListener(){
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                isLoading = true;
-                Timer.schedule(new Timer.Task(){
-                    @Override
-                    public void run() {
-                        Rendezvous game = (Rendezvous)Gdx.app.getApplicationListener();
-                        game.setScreen(new Match(batch));
-                    }
-                }, 1);
+                if (!isLoading) {
+                    isLoading = true;
+                    shownLoadingProgress = -1;
+                    match = new Match(batch);
+                }
             }
         });
 
@@ -142,7 +143,7 @@ public class MainMenu implements Screen {
         table.add(gameIcon).padBottom(70).padRight(5);
 
         loadingLabel = new Label(i18n.getBundle().get("loading"),
-                new Label.LabelStyle(FontGenerator.generate(ResourceHandler.FontPath.BOMBARD, 42, false), Color.WHITE));
+                new Label.LabelStyle(resources.getFont(ResourceHandler.FontPath.BOMBARD, 42, false), Color.WHITE));
         table.add(loadingLabel).padBottom(70).padRight(100).row();
 
         loadingStage.addActor(table);
@@ -150,6 +151,24 @@ public class MainMenu implements Screen {
 
     private void update(float delta) {
         camera.update();
+        loadMatch();
+    }
+
+    private void loadMatch() {
+        if (isLoading && match.load(LOADING_BUDGET_MILLIS)) {
+            isLoading = false;
+            Rendezvous game = (Rendezvous)Gdx.app.getApplicationListener();
+            game.setScreen(match);
+            match = null;
+        }
+    }
+
+    private void updateLoadingLabel() {
+        int loadingProgress = (int) (match.getLoadingProgress() * 100);
+        if (loadingProgress != shownLoadingProgress) {
+            shownLoadingProgress = loadingProgress;
+            loadingLabel.setText(i18n.getBundle().get("loading") + " " + loadingProgress + "%");
+        }
     }
 
     @Override
@@ -193,6 +212,7 @@ public class MainMenu implements Screen {
 
     private void renderLoadingScreen() {
         if (isLoading) {
+            updateLoadingLabel();
             batch.begin();
             batch.draw(loadingScreen, 0, 0, GAME_WIDTH, GAME_HEIGHT);
             batch.end();
@@ -233,7 +253,8 @@ public class MainMenu implements Screen {
 
     @Override
     public void dispose() {
-        skin.dispose();
+        // the pixmap and the skin belong to the handler, only the cursor made from the pixmap is owned here
+        cursor.dispose();
         resources.dispose();
     }
 }
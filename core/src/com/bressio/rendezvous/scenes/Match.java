@@ -9,25 +9,32 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.bressio.rendezvous.entities.Enemy;
+import com.bressio.rendezvous.entities.Lootable;
 import com.bressio.rendezvous.entities.Player;
+import com.bressio.rendezvous.entities.Soldier;
 import com.bressio.rendezvous.entities.objects.EntityObject;
+import com.bressio.rendezvous.entities.objects.weapons.Weapon;
 import com.bressio.rendezvous.entities.objects.weapons.ars.AssaultRifle;
 import com.bressio.rendezvous.entities.objects.weapons.pistols.Pistol;
 import com.bressio.rendezvous.entities.objects.weapons.srs.SniperRifle;
 import com.bressio.rendezvous.entities.projectiles.Bullet;
 import com.bressio.rendezvous.entities.tiles.Loot;
 import com.bressio.rendezvous.events.InputTracker;
+import com.bressio.rendezvous.events.Perception;
 import com.bressio.rendezvous.events.RendezvousController;
-import com.bressio.rendezvous.events.WorldContactListener;
+import com.bressio.rendezvous.events.TickScheduler;
 import com.bressio.rendezvous.forge.WorldBuilder;
+import com.bressio.rendezvous.graphics.RenderQueue;
 import com.bressio.rendezvous.graphics.ResourceHandler;
+import com.bressio.rendezvous.graphics.TileChunkRenderer;
 import com.bressio.rendezvous.gui.*;
 import com.bressio.rendezvous.languages.Internationalization;
 import com.bressio.rendezvous.scheme.MathUtils;
@@ -40,6 +47,10 @@ import static com.bressio.rendezvous.scheme.PlayerSettings.*;
 
 public class Match implements Screen {
 
+    // the share of the loading progress taken by the assets, the rest is taken by forging the world
+    private static final float RESOURCES_LOADING_SHARE = .6f;
+    private static final float VIEW_MARGIN = pScale(128);
+
     public enum GameState {
         RUNNING, PAUSED, TACTICAL, LOOTING, GAME_OVER
     }
@@ -58,49 +69,81 @@ public class Match implements Screen {
     private LootInterface loot;
     private MatchMap matchMap;
     private GameOver gameOver;
-    private OrthogonalTiledMapRenderer renderer;
-    private OrthogonalTiledMapRenderer overRenderer;
+    private TileChunkRenderer renderer;
+    private TileChunkRenderer overRenderer;
     private Box2DDebugRenderer collisionDebugRenderer;
+    private RenderQueue renderQueue;
+    private Rectangle viewBounds;
+    private ArrayList<Soldier> visibleSoldiers;
+    private ArrayList<Lootable> visibleLoot;
     private float cameraZoom = 20;
 
     // world
-    private World world;
-    private WorldBuilder worldBuilder;
-    private Player player;
+    private MatchSimulation simulation;
     private TmxMapLoader mapLoader;
     private TiledMap map;
     private TiledMap overMap;
-    private ArrayList<Bullet> bullets;
     private Texture waterBackground;
     private Texture deadLoot;
 
     // events
     private InputTracker input;
     private GameState state;
-    private RendezvousController rendezvousController;
     private boolean gameIsOver;
-    private int matchDuration;
-    private float matchTimeCount;
+    private boolean isHeadless;
 
     Match(SpriteBatch batch) {
         this.batch = batch;
-        loadResources();
-        setupCamera();
-        setupRenderer();
-        setupCursor();
-        forgeWorld();
-        setupInputTracker();
+        queueResources();
+    }
+
+    private Match() {
+        isHeadless = true;
+        loadHeadlessResources();
+        forgeHeadlessWorld();
     }
 
-    private void loadResources() {
+    public static Match createHeadless() {
+        return new Match();
+    }
+
+    private void queueResources() {
         resources = new ResourceHandler();
-        resources.loadMatchResources();
+        resources.queueMatchResources();
         mapLoader = new TmxMapLoader();
-        map = resources.getTiledMap(ResourceHandler.TiledMapPath.TILEMAP);
-        overMap = resources.getTiledMap(ResourceHandler.TiledMapPath.OVER_TILEMAP);
         i18n = new Internationalization();
     }
 
+    boolean load(int budgetMillis) {
+        // called once per frame until it returns true, each call works for about the given time
+        long deadline = System.nanoTime() + budgetMillis * 1000000L;
+        if (simulation == null) {
+            if (!resources.updateMatchResources(budgetMillis)) {
+                return false;
+            }
+            map = resources.getTiledMap(ResourceHandler.TiledMapPath.TILEMAP);
+            overMap = resources.getTiledMap(ResourceHandler.TiledMapPath.OVER_TILEMAP);
+            setupCamera();
+            setupRenderer();
+            simulation = new MatchSimulation(this);
+            simulation.beginForge();
+        }
+        if (!simulation.forgeWorld(deadline)) {
+            return false;
+        }
+        forgeWorld();
+        setupCursor();
+        setupInputTracker();
+        return true;
+    }
+
+    float getLoadingProgress() {
+        if (simulation == null) {
+            return resources.getLoadingProgress() * RESOURCES_LOADING_SHARE;
+        }
+        return RESOURCES_LOADING_SHARE + getWorldBuilder().getProgress() * (1 - RESOURCES_LOADING_SHARE);
+    }
+
     private void setupCamera() {
         camera = new OrthographicCamera();
         viewport = new FitViewport(pScale(GAME_WIDTH) * cameraZoom, pScale(GAME_HEIGHT) * cameraZoom, camera);
@@ -115,9 +158,14 @@ public class Match implements Screen {
     }
 
     private void setupRenderer() {
-        renderer = new OrthogonalTiledMapRenderer(map, PhysicsAdapter.getScale());
-        overRenderer = new OrthogonalTiledMapRenderer(overMap, PhysicsAdapter.getScale());
+        // the ceilings fade in and out by building, every other layer is baked once
+        renderer = new TileChunkRenderer(map, PhysicsAdapter.getScale(), WorldBuilder.Layer.CEILING.index);
+        overRenderer = new TileChunkRenderer(overMap, PhysicsAdapter.getScale(), WorldBuilder.Layer.CEILING.index);
         collisionDebugRenderer = new Box2DDebugRenderer();
+        renderQueue = new RenderQueue();
+        viewBounds = new Rectangle();
+        visibleSoldiers = new ArrayList<>();
+        visibleLoot = new ArrayList<>();
         setState(GameState.RUNNING);
     }
 
@@ -125,19 +173,24 @@ public class Match implements Screen {
         setCursor(resources.getPixmap(ResourceHandler.PixmapPath.MATCH_CURSOR), true);
     }
 
+    private void loadHeadlessResources() {
+        resources = new ResourceHandler();
+        resources.loadHeadlessMatchResources();
+        map = resources.getTiledMap(ResourceHandler.TiledMapPath.TILEMAP);
+        overMap = resources.getTiledMap(ResourceHandler.TiledMapPath.OVER_TILEMAP);
+        i18n = new Internationalization();
+    }
+
     private void forgeWorld() {
-        world = new World(GRAVITY, true);
-        worldBuilder = new WorldBuilder(this);
-        player = new Player(this, 35, 5, 8, worldBuilder.getPlayerSpawnPoint());
-        for (Enemy enemy : worldBuilder.getEnemies()) {
-            enemy.getAi().wakeUp(worldBuilder);
-        }
-        world.setContactListener(new WorldContactListener(this));
-        rendezvousController = new RendezvousController(this);
-        bullets = new ArrayList<>();
+        simulation.finishForge(true);
         waterBackground = resources.getTexture(ResourceHandler.TexturePath.WATER_BACKGROUND);
         deadLoot = resources.getTexture(ResourceHandler.TexturePath.DEAD_LOOT);
-        matchDuration = 0;
+    }
+
+    private void forgeHeadlessWorld() {
+        simulation = new MatchSimulation(this);
+        simulation.forge(false);
+        setState(GameState.RUNNING);
     }
 
     private void setupInputTracker() {
@@ -148,8 +201,8 @@ public class Match implements Screen {
     private void updateCamera() {
         // smoothly moves the camera to the player's position with an offset generated by the mouse input
         camera.position.lerp(new Vector3(
-                player.getBody().getPosition().x + (float)InputTracker.getRelativeX() / 300,
-                player.getBody().getPosition().y - (float)InputTracker.getRelativeY() / 300,
+                getPlayer().getBody().getPosition().x + (float)InputTracker.getRelativeX() / 300,
+                getPlayer().getBody().getPosition().y - (float)InputTracker.getRelativeY() / 300,
                 0), 0.05f);
         // the camera position is rounded to avoid artifacts on unfiltered textures
         camera.position.set((float) ((double) Math.round(camera.position.x * 100d) / 100d),
@@ -158,6 +211,7 @@ public class Match implements Screen {
         renderer.setView(camera);
         overRenderer.setView(camera);
 
+        Player player = getPlayer();
         if (SniperRifle.class.isAssignableFrom(player.getInventory().getItem(hud.getSelectedSlot()).getClass())) {
             cameraZoom = MathUtils.lerp(cameraZoom, 2, .05f);
         } else if (AssaultRifle.class.isAssignableFrom(player.getInventory().getItem(hud.getSelectedSlot()).getClass())) {
@@ -169,30 +223,26 @@ public class Match implements Screen {
         }
         viewport.setWorldSize(pScale(GAME_WIDTH) * cameraZoom, pScale(GAME_HEIGHT) * cameraZoom);
         viewport.apply();
+        updateViewBounds();
     }
 
-    private void updateBullets() {
-        for (Bullet bullet : bullets) {
-            bullet.moveForward();
-        }
-    }
-
-    private void updateEnemies(float delta) {
-        for (Enemy enemy : worldBuilder.getEnemies()) {
-            enemy.update(delta);
-        }
+    private void updateViewBounds() {
+        // widened by the largest sprite, so the ones only partially in view are kept
+        viewBounds.set(
+                camera.position.x - pCenter(camera.viewportWidth) - VIEW_MARGIN,
+                camera.position.y - pCenter(camera.viewportHeight) - VIEW_MARGIN,
+                camera.viewportWidth + VIEW_MARGIN * 2,
+                camera.viewportHeight + VIEW_MARGIN * 2);
     }
 
     private void update(float delta) {
         if (state == GameState.RUNNING || state == GameState.TACTICAL || state == GameState.LOOTING) {
-            world.step(1 / 60f, 6, 2);
-            rendezvousController.update(delta);
-            player.update(delta);
-            matchMap.update(delta, player.getBody().getPosition());
+            // the camera moves first, so the soldiers skip their animation against the bounds drawn this frame
             updateCamera();
-            updateBullets();
+            simulation.update(delta);
+            matchMap.update(delta, getPlayer().getBody().getPosition());
+            overRenderer.update(delta);
             checkGameOverConditions();
-            updateMatchTimeCount(delta);
         }
     }
 
@@ -202,9 +252,6 @@ public class Match implements Screen {
         handleMatchMap(delta);
         handleInventoryInput(delta);
         updateLoot(delta);
-        if (state == GameState.RUNNING || state == GameState.TACTICAL || state == GameState.LOOTING) {
-            updateEnemies(delta);
-        }
     }
 
     private void handlePauseMenu(float delta) {
@@ -223,10 +270,10 @@ public class Match implements Screen {
     }
 
     public void handleLootInterface(float delta, ArrayList<EntityObject> items) {
-        if (InputTracker.isPressed(InputTracker.E) && !player.isActionsBlocked()){
+        if (InputTracker.isPressed(InputTracker.E) && !getPlayer().isActionsBlocked()){
             if (state == GameState.RUNNING || state == GameState.TACTICAL) {
-                loot = new LootInterface(this, items, player.getInventory().getItems(),
-                        player.getInventory().getEquipmentItems());
+                loot = new LootInterface(this, items, getPlayer().getInventory().getItems(),
+                        getPlayer().getInventory().getEquipmentItems());
                 input.resetAllKeys();
                 Gdx.input.setInputProcessor(loot.getStage());
                 setCursor(resources.getPixmap(ResourceHandler.PixmapPath.MENU_CURSOR), false);
@@ -250,7 +297,7 @@ public class Match implements Screen {
     }
 
     private void handleInventoryInput(float delta) {
-        if (!player.isActionsBlocked()) {
+        if (!getPlayer().isActionsBlocked()) {
             if (InputTracker.isPressed(InputTracker.NUM_1)) {
                 hud.switchSelectedSlot(0);
             } else if (InputTracker.isPressed(InputTracker.NUM_2)) {
@@ -272,38 +319,14 @@ public class Match implements Screen {
     }
 
     private void checkGameOverConditions() {
-        if (player.getHealth() <= 0 && !gameIsOver) {
+        if (simulation.isOver() && !gameIsOver) {
             gameIsOver = true;
             input.resetAllKeys();
             Gdx.input.setInputProcessor(gameOver.getStage());
             setCursor(resources.getPixmap(ResourceHandler.PixmapPath.MENU_CURSOR), false);
-            gameOver.setWinner(false);
+            gameOver.setWinner(getPlayer().getHealth() > 0);
             gameOver.forgeGameOverScreen();
             setState(GameState.GAME_OVER);
-        } else {
-            int enemiesAlive = 39;
-            for (Enemy enemy: worldBuilder.getEnemies()) {
-                if (enemy.isDead()) {
-                    enemiesAlive--;
-                }
-            }
-            if (enemiesAlive == 0) {
-                gameIsOver = true;
-                input.resetAllKeys();
-                Gdx.input.setInputProcessor(gameOver.getStage());
-                setCursor(resources.getPixmap(ResourceHandler.PixmapPath.MENU_CURSOR), false);
-                gameOver.setWinner(true);
-                gameOver.forgeGameOverScreen();
-                setState(GameState.GAME_OVER);
-            }
-        }
-    }
-
-    private void updateMatchTimeCount(float delta) {
-        matchTimeCount += delta;
-        if (matchTimeCount >= 1) {
-            matchDuration++;
-            matchTimeCount = 0;
         }
     }
 
@@ -311,8 +334,20 @@ public class Match implements Screen {
         return resources;
     }
 
+    public MatchSimulation getSimulation() {
+        return simulation;
+    }
+
     public World getWorld() {
-        return world;
+        return simulation.getWorld();
+    }
+
+    public TickScheduler getScheduler() {
+        return simulation.getScheduler();
+    }
+
+    public Perception getPerception() {
+        return simulation.getPerception();
     }
 
     public TiledMap getMap() {
@@ -327,6 +362,14 @@ public class Match implements Screen {
         return batch;
     }
 
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    public int getDrawCalls() {
+        return renderQueue.getDrawCalls();
+    }
+
     public Internationalization getI18n() {
         return i18n;
     }
@@ -340,19 +383,19 @@ public class Match implements Screen {
     }
 
     public Player getPlayer() {
-        return player;
+        return simulation.getPlayer();
     }
 
     public ArrayList<Bullet> getBullets() {
-        return bullets;
+        return simulation.getBullets();
     }
 
     public RendezvousController getRendezvousController() {
-        return rendezvousController;
+        return simulation.getRendezvousController();
     }
 
     public WorldBuilder getWorldBuilder() {
-        return worldBuilder;
+        return simulation.getWorldBuilder();
     }
 
     public OrthographicCamera getCamera() {
@@ -360,7 +403,29 @@ public class Match implements Screen {
     }
 
     public int getMatchDuration() {
-        return matchDuration;
+        return simulation.getMatchDuration();
+    }
+
+    public boolean isHeadless() {
+        return isHeadless;
+    }
+
+    public int addCeiling(IntArray cells) {
+        return isHeadless ? -1 : overRenderer.addDynamicGroup(cells);
+    }
+
+    public void setCeilingVisible(int ceiling, boolean isVisible) {
+        if (!isHeadless) {
+            overRenderer.setDynamicGroupVisible(ceiling, isVisible);
+        }
+    }
+
+    public Rectangle getViewBounds() {
+        return viewBounds;
+    }
+
+    public boolean isInView(float x, float y) {
+        return !isHeadless && camera.frustum.pointInFrustum(x, y, 0);
     }
 
     private void renderPauseMenu(float delta) {
@@ -402,13 +467,13 @@ public class Match implements Screen {
     }
 
     private void updateLoot(float delta) {
-        for (Loot loot : worldBuilder.getLoot()) {
+        for (Loot loot : getWorldBuilder().getLoot()) {
             loot.update(delta);
         }
     }
 
-    public void addBullet(Bullet bullet) {
-        bullets.add(bullet);
+    public void fireBullet(Weapon weapon) {
+        simulation.fireBullet(weapon);
     }
 
     @Override
@@ -434,44 +499,42 @@ public class Match implements Screen {
 
     private void renderCollisionDebug() {
         if (DEBUG_MODE) {
-            collisionDebugRenderer.render(world, camera.combined);
+            collisionDebugRenderer.render(getWorld(), camera.combined);
         }
     }
 
-    private void renderPlayer() {
-        batch.begin();
-        player.draw(batch);
-        batch.end();
+    private void cull() {
+        // only the entities around the camera are queued, the spatial indexes keep this independent of their count
+        getWorldBuilder().getSoldierGrid().getSoldiersIn(viewBounds, visibleSoldiers);
+        getWorldBuilder().getLootIndex().getLootIn(viewBounds, visibleLoot);
     }
 
-    private void renderEnemies() {
-        batch.begin();
-        for (Enemy enemy : worldBuilder.getEnemies()) {
-            enemy.draw(batch);
-        }
-        batch.end();
+    private void renderPlayer() {
+        getPlayer().draw(renderQueue);
     }
 
-    private void renderLootInteractionButton() {
-        for (Loot loot : worldBuilder.getLoot()) {
-            loot.drawInteractionButton();
+    private void renderEnemies() {
+        for (Soldier soldier : visibleSoldiers) {
+            soldier.draw(renderQueue);
         }
     }
 
-    private void renderDeadLootInteractionButton() {
-        for (Enemy enemy : worldBuilder.getEnemies()) {
-            enemy.drawInteractionButton();
+    private void renderInteractionButtons() {
+        // the dead enemies join the loot index, so their buttons are found along with the chests and crates
+        for (Lootable lootable : visibleLoot) {
+            lootable.drawInteractionButton();
         }
     }
 
     private void renderHud(float delta) {
+        Player player = getPlayer();
         batch.setProjectionMatrix(hud.getStage().getCamera().combined);
         hud.drawVignette(delta);
         hud.drawHealthBars(delta, player.getHealth(), player.getArmor());
         hud.getStage().draw();
         hud.updateHealthBars(delta, player.getHealth(), player.getArmor());
         hud.updateAmmoIndicator(delta, player.getInventory());
-        hud.updateEnemyStatus(delta, worldBuilder);
+        hud.updateEnemyStatus(delta, getWorldBuilder());
         hud.updateInventory(delta);
         if (state != GameState.TACTICAL) {
             hud.drawMinimap(delta, player.getBody().getPosition());
@@ -479,7 +542,7 @@ public class Match implements Screen {
     }
 
     private void renderProgressDisplay(float delta) {
-        if (player.getInventory().isSelectedBeingUsed()) {
+        if (getPlayer().getInventory().isSelectedBeingUsed()) {
             batch.setProjectionMatrix(progress.getStage().getCamera().combined);
             progress.getStage().draw();
             if (state != GameState.PAUSED && state != GameState.GAME_OVER) {
@@ -503,46 +566,57 @@ public class Match implements Screen {
     }
 
     private void renderDeadLoots(float delta) {
-        batch.begin();
-        for (Enemy enemy : worldBuilder.getEnemies()) {
-            if (enemy.isDead()) {
-                batch.draw(deadLoot, enemy.getBody().getPosition().x - pScaleCenter(deadLoot.getWidth()),
+        Player player = getPlayer();
+        for (Lootable lootable : visibleLoot) {
+            if (lootable instanceof Enemy) {
+                Enemy enemy = (Enemy) lootable;
+                renderQueue.submit(RenderQueue.Layer.DEAD_LOOT, deadLoot,
+                        enemy.getBody().getPosition().x - pScaleCenter(deadLoot.getWidth()),
                         enemy.getBody().getPosition().y - pScaleCenter(deadLoot.getHeight()),
                         pScale(deadLoot.getWidth()), pScale(deadLoot.getHeight()));
             }
         }
         if (player.isDead()) {
-            batch.draw(deadLoot, player.getBody().getPosition().x - pScaleCenter(deadLoot.getWidth()),
+            renderQueue.submit(RenderQueue.Layer.DEAD_LOOT, deadLoot,
+                    player.getBody().getPosition().x - pScaleCenter(deadLoot.getWidth()),
                     player.getBody().getPosition().y - pScaleCenter(deadLoot.getHeight()),
                     pScale(deadLoot.getWidth()), pScale(deadLoot.getHeight()));
         }
-        batch.end();
     }
 
     private void renderBullets(float delta) {
-        batch.begin();
-        for (Bullet bullet : bullets) {
-            bullet.draw(getBatch());
+        // only the bullets in flight are listed, a handful at most, so they are not worth an index
+        for (Bullet bullet : getBullets()) {
+            if (viewBounds.contains(bullet.getX(), bullet.getY())) {
+                bullet.draw(renderQueue);
+            }
         }
-        batch.end();
     }
 
     @Override
     public void render(float delta) {
+        renderQueue.beginFrame();
         update(delta);
         renderBackgroundColor();
         renderVoid();
+        // the batch counts its flushes since the last begin
+        renderQueue.countDrawCalls(batch.renderCalls);
         renderer.render();
+        renderQueue.countDrawCalls(renderer.getRenderCalls());
         renderCollisionDebug();
         batch.setProjectionMatrix(camera.combined);
+        // everything drawn with the world camera is queued first, then drawn in two passes around the over map
+        cull();
         renderDeadLoots(delta);
         renderBullets(delta);
         renderPlayer();
         renderEnemies();
+        renderInteractionButtons();
+        getRendezvousController().render(delta);
+        renderQueue.render(batch, RenderQueue.Layer.SOLDIER);
         overRenderer.render();
-        renderLootInteractionButton();
-        renderDeadLootInteractionButton();
-        rendezvousController.render(delta);
+        renderQueue.countDrawCalls(overRenderer.getRenderCalls());
+        renderQueue.render(batch, RenderQueue.Layer.SAFEZONE);
         renderHud(delta);
         renderProgressDisplay(delta);
         renderInterface(delta);
@@ -571,9 +645,12 @@ public class Match implements Screen {
 
     @Override
     public void dispose() {
-        renderer.dispose();
-        world.dispose();
-        collisionDebugRenderer.dispose();
+        if (!isHeadless) {
+            renderer.dispose();
+            overRenderer.dispose();
+            collisionDebugRenderer.dispose();
+        }
+        simulation.dispose();
         resources.dispose();
     }
 }
@@ -0,0 +1,213 @@
+package com.bressio.rendezvous.scenes;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.bressio.rendezvous.entities.Enemy;
+import com.bressio.rendezvous.entities.Player;
+import com.bressio.rendezvous.entities.objects.weapons.Weapon;
+import com.bressio.rendezvous.entities.projectiles.Bullet;
+import com.bressio.rendezvous.entities.projectiles.BulletPool;
+import com.bressio.rendezvous.events.AIDecisionTask;
+import com.bressio.rendezvous.events.AILevelOfDetail;
+import com.bressio.rendezvous.events.Perception;
+import com.bressio.rendezvous.events.Squad;
+import com.bressio.rendezvous.events.RendezvousController;
+import com.bressio.rendezvous.events.TickScheduler;
+import com.bressio.rendezvous.events.WorldContactListener;
+import com.bressio.rendezvous.forge.WorldBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.bressio.rendezvous.scheme.PhysicsAdapter.*;
+import static com.bressio.rendezvous.scheme.PlayerSettings.AI_LEVEL_OF_DETAIL;
+
+public class MatchSimulation {
+
+    private Match match;
+    private World world;
+    private WorldBuilder worldBuilder;
+    private Player player;
+    private RendezvousController rendezvousController;
+    private WorldContactListener contactListener;
+    private BulletPool bulletPool;
+    private int matchDuration;
+    private float matchTimeCount;
+    private float accumulator;
+    private ForkJoinPool decisionPool;
+    private AILevelOfDetail levelOfDetail;
+    private Perception perception;
+    private TickScheduler scheduler;
+
+    MatchSimulation(Match match) {
+        this.match = match;
+    }
+
+    void forge(boolean hasPlayer) {
+        beginForge();
+        worldBuilder.forge(Long.MAX_VALUE);
+        finishForge(hasPlayer);
+    }
+
+    void beginForge() {
+        world = new World(GRAVITY, true);
+        scheduler = new TickScheduler();
+        worldBuilder = new WorldBuilder(match);
+    }
+
+    boolean forgeWorld(long deadline) {
+        return worldBuilder.forge(deadline);
+    }
+
+    void finishForge(boolean hasPlayer) {
+        if (hasPlayer) {
+            player = new Player(match, 35, 5, 8, worldBuilder.getPlayerSpawnPoint());
+        }
+        for (Enemy enemy : worldBuilder.getEnemies()) {
+            enemy.getAi().wakeUp(worldBuilder);
+        }
+        contactListener = new WorldContactListener(match);
+        world.setContactListener(contactListener);
+        rendezvousController = new RendezvousController(match);
+        bulletPool = new BulletPool(match);
+        decisionPool = new ForkJoinPool();
+        // the headless evaluation always runs every bot at full fidelity, so its results stay comparable
+        levelOfDetail = new AILevelOfDetail(player, match.isHeadless() || !AI_LEVEL_OF_DETAIL);
+        perception = new Perception(world, worldBuilder.getSoldiers());
+        matchDuration = 0;
+    }
+
+    void update(float delta) {
+        // the elapsed time is consumed in fixed ticks, so the simulation runs at the same speed on any display
+        accumulator += delta;
+        int ticks = 0;
+        while (accumulator >= TICK && ticks < MAX_CATCH_UP_TICKS) {
+            step();
+            accumulator -= TICK;
+            ticks++;
+        }
+        // a frame too slow to catch up drops the remaining time instead of spiralling into more ticks
+        if (accumulator >= TICK) {
+            accumulator = 0;
+        }
+        interpolate(accumulator / TICK);
+    }
+
+    public void step() {
+        scheduler.advance();
+        world.step(TICK, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        contactListener.dispatch();
+        // bodies can't be deactivated while the world is locked, so the spent bullets are recycled here
+        bulletPool.retireSpentBullets();
+        rendezvousController.update(TICK);
+        if (player != null) {
+            player.update(TICK);
+        }
+        bulletPool.update();
+        updateEnemies(TICK);
+        updateMatchTimeCount(TICK);
+    }
+
+    private void interpolate(float alpha) {
+        if (player != null) {
+            player.interpolate(alpha);
+        }
+        for (Enemy enemy : worldBuilder.getEnemies()) {
+            enemy.interpolate(alpha);
+        }
+        for (Bullet bullet : bulletPool.getBullets()) {
+            bullet.interpolate(alpha);
+        }
+    }
+
+    private void updateEnemies(float delta) {
+        for (Enemy enemy : worldBuilder.getEnemies()) {
+            enemy.update(delta);
+        }
+        worldBuilder.getSoldierGrid().update();
+        // the bots decide in parallel against this tick's snapshot, then act one by one in spawn order
+        levelOfDetail.advance();
+        decisionPool.invoke(new AIDecisionTask(worldBuilder.getEnemies(), levelOfDetail));
+        // the sight checks the bots asked for are raycast here, the world can't be queried from their threads
+        perception.update();
+        for (Enemy enemy : worldBuilder.getEnemies()) {
+            enemy.act();
+        }
+    }
+
+    private void updateMatchTimeCount(float delta) {
+        matchTimeCount += delta;
+        if (matchTimeCount >= 1) {
+            matchDuration++;
+            matchTimeCount = 0;
+        }
+    }
+
+    public int getEnemiesAlive() {
+        int enemiesAlive = worldBuilder.getEnemies().size();
+        for (Enemy enemy : worldBuilder.getEnemies()) {
+            if (enemy.isDead()) {
+                enemiesAlive--;
+            }
+        }
+        return enemiesAlive;
+    }
+
+    public boolean isOver() {
+        if (player != null) {
+            return player.getHealth() <= 0 || getEnemiesAlive() == 0;
+        }
+        // a bot-only match ends when a single squad is left standing
+        return getSquadsAlive() <= 1;
+    }
+
+    private int getSquadsAlive() {
+        int squadsAlive = 0;
+        for (Squad squad : worldBuilder.getSquads()) {
+            if (squad.isAlive()) {
+                squadsAlive++;
+            }
+        }
+        return squadsAlive;
+    }
+
+    public void fireBullet(Weapon weapon) {
+        bulletPool.fire(weapon);
+    }
+
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Perception getPerception() {
+        return perception;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public WorldBuilder getWorldBuilder() {
+        return worldBuilder;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public RendezvousController getRendezvousController() {
+        return rendezvousController;
+    }
+
+    public ArrayList<Bullet> getBullets() {
+        return bulletPool.getBullets();
+    }
+
+    public int getMatchDuration() {
+        return matchDuration;
+    }
+
+    void dispose() {
+        decisionPool.shutdown();
+        world.dispose();
+    }
+}
@@ -10,6 +10,12 @@ public final class PhysicsAdapter {
     private static final float SCALE = 100;
     public static final int MAP_AREA = 10240000;
 
+    public static final int TICK_RATE = 60;
+    public static final float TICK = 1f / TICK_RATE;
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
+
     public static final short DEFAULT_TAG = 1;
     public static final short PLAYER_TAG = 2;
     public static final short BUILDING_TAG = 4;
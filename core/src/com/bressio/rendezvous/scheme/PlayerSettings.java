@@ -10,5 +10,9 @@ public final class PlayerSettings {
     public static final int GAME_HEIGHT = 768;
     public static final boolean FULLSCREEN = true;
     public static final boolean DEBUG_MODE = false;
+    // the bots far from the player decide less often, false runs all of them every tick
+    public static final boolean AI_LEVEL_OF_DETAIL = true;
+    // the bots team up in squads of this size, 1 plays every bot for itself
+    public static final int SQUAD_SIZE = 1;
     public static final Internationalization.Language LANG = Internationalization.Language.ENGLISH;
 }
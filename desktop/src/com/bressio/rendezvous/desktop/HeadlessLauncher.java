@@ -0,0 +1,13 @@
+package com.bressio.rendezvous.desktop;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.bressio.rendezvous.Simulator;
+
+public class HeadlessLauncher {
+    public static void main (String[] arg) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = 0;
+        new HeadlessApplication(new Simulator(arg.length > 0 ? Integer.parseInt(arg[0]) : 1), config);
+    }
+}
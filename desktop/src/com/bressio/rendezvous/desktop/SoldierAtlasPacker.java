@@ -0,0 +1,269 @@
+package com.bressio.rendezvous.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.bressio.rendezvous.graphics.AnimationRegion;
+import com.bressio.rendezvous.graphics.SoldierLayer;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class SoldierAtlasPacker {
+
+    private static final String STRIPS_DIR = "../assets-raw/animations";
+    private static final String ATLAS_DIR = "textures/animations";
+    private static final String ATLAS_NAME = "soldiers";
+    private static final SoldierLayer[] ARMORS = { null, SoldierLayer.MILITARY_VEST, SoldierLayer.SOFT_VEST };
+    private static final SoldierLayer[] HELMETS = { null, SoldierLayer.COMBAT_HELMET, SoldierLayer.HALF_HELMET };
+
+    public static void main (String[] arg) throws IOException {
+        File frames = Files.createTempDirectory(ATLAS_NAME).toFile();
+        for (AnimationRegion pose : AnimationRegion.values()) {
+            writePose(pose, frames);
+        }
+
+        // the layers are stripped of their transparent pixels, the atlas offsets put them back in place
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 4096;
+        settings.maxHeight = 4096;
+        settings.paddingX = 2;
+        settings.paddingY = 2;
+        settings.duplicatePadding = true;
+        settings.stripWhitespaceX = true;
+        settings.stripWhitespaceY = true;
+        settings.ignoreBlankImages = false;
+        settings.filterMin = Texture.TextureFilter.Linear;
+        settings.filterMag = Texture.TextureFilter.Linear;
+        TexturePacker.process(settings, frames.getPath(), ATLAS_DIR, ATLAS_NAME);
+        verifyAtlas();
+    }
+
+    private static void writePose(AnimationRegion pose, File frames) throws IOException {
+        BufferedImage base = readStrip(pose.getRegion());
+        writeFrames(base, pose, pose.getRegion(), frames);
+        BufferedImage[] layers = new BufferedImage[SoldierLayer.values().length];
+        for (SoldierLayer layer : SoldierLayer.values()) {
+            layers[layer.ordinal()] = extractLayer(base, readStrip(getStripRegion(pose, layer)));
+        }
+
+        // a diff layer can't erase the bare pose or blend with another layer, so the soldiers it can't
+        // reproduce pixel for pixel are packed whole from their authored strip
+        boolean[] isStacked = new boolean[layers.length];
+        for (SoldierLayer armor : ARMORS) {
+            for (SoldierLayer helmet : HELMETS) {
+                if (armor == null && helmet == null) {
+                    continue;
+                }
+                BufferedImage strip = readStrip(getStripRegion(pose, armor, helmet));
+                if (countMismatches(stackLayers(base, layers, armor, helmet), strip) == 0) {
+                    markStacked(isStacked, armor);
+                    markStacked(isStacked, helmet);
+                } else {
+                    writeFrames(strip, pose, SoldierLayer.getRegion(pose, armor, helmet), frames);
+                }
+            }
+        }
+        for (SoldierLayer layer : SoldierLayer.values()) {
+            if (isStacked[layer.ordinal()]) {
+                writeFrames(layers[layer.ordinal()], pose, layer.getRegion(pose), frames);
+            }
+        }
+    }
+
+    private static void markStacked(boolean[] isStacked, SoldierLayer layer) {
+        if (layer != null) {
+            isStacked[layer.ordinal()] = true;
+        }
+    }
+
+    private static String getStripRegion(AnimationRegion pose, SoldierLayer layer) {
+        // the unarmed strips spell the equipment out, the others abbreviate it before the held item
+        if (pose == AnimationRegion.SOLDIER) {
+            return pose.getRegion() + "-" + layer.getName();
+        }
+        return "soldier-" + layer.getAbbreviation() + pose.getRegion().substring("soldier".length());
+    }
+
+    private static String getStripRegion(AnimationRegion pose, SoldierLayer armor, SoldierLayer helmet) {
+        if (armor == null) {
+            return helmet == null ? pose.getRegion() : getStripRegion(pose, helmet);
+        } else if (helmet == null) {
+            return getStripRegion(pose, armor);
+        } else if (pose == AnimationRegion.SOLDIER) {
+            return pose.getRegion() + "-" + armor.getAbbreviation() + "-" + helmet.getName();
+        }
+        return "soldier-" + armor.getAbbreviation() + "-" + helmet.getAbbreviation() +
+                pose.getRegion().substring("soldier".length());
+    }
+
+    private static BufferedImage extractLayer(BufferedImage base, BufferedImage variant) {
+        // keeps only the pixels the equipment changed over the bare pose
+        BufferedImage layer = new BufferedImage(base.getWidth(), base.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < base.getHeight(); y++) {
+            for (int x = 0; x < base.getWidth(); x++) {
+                int variantPixel = getPixel(variant, x, y);
+                if (variantPixel != getPixel(base, x, y)) {
+                    layer.setRGB(x, y, variantPixel);
+                }
+            }
+        }
+        return layer;
+    }
+
+    private static BufferedImage stackLayers(BufferedImage base, BufferedImage[] layers,
+                                             SoldierLayer armor, SoldierLayer helmet) {
+        // drawn in the same order as the Animator stacks them
+        BufferedImage soldier = new BufferedImage(base.getWidth(), base.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = soldier.createGraphics();
+        graphics.drawImage(base, 0, 0, null);
+        if (armor != null) {
+            graphics.drawImage(layers[armor.ordinal()], 0, 0, null);
+        }
+        if (helmet != null) {
+            graphics.drawImage(layers[helmet.ordinal()], 0, 0, null);
+        }
+        graphics.dispose();
+        return soldier;
+    }
+
+    private static int countMismatches(BufferedImage image, BufferedImage strip) {
+        int mismatches = 0;
+        for (int y = 0; y < strip.getHeight(); y++) {
+            for (int x = 0; x < strip.getWidth(); x++) {
+                if (getPixel(image, x, y) != getPixel(strip, x, y)) {
+                    mismatches++;
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    private static int getPixel(BufferedImage image, int x, int y) {
+        int pixel = image.getRGB(x, y);
+        return (pixel >>> 24) == 0 ? 0 : pixel;
+    }
+
+    private static void writeFrames(BufferedImage strip, AnimationRegion pose, String name, File frames)
+            throws IOException {
+        // the frames are packed one by one, so each keeps only its own visible pixels
+        for (int i = pose.getStartColumn(); i <= pose.getAmountFrames(); i++) {
+            ImageIO.write(getFrame(strip, pose, i), "png", new File(frames, name + "_" + i + ".png"));
+        }
+    }
+
+    private static BufferedImage getFrame(BufferedImage strip, AnimationRegion pose, int index) {
+        return strip.getSubimage(index * pose.getFrameWidth(), pose.getStartRow(),
+                pose.getFrameWidth(), pose.getFrameHeight());
+    }
+
+    private static void verifyAtlas() throws IOException {
+        // every soldier is rebuilt from the packed atlas the way the Animator draws it and compared with its strip
+        FileHandle packFile = new FileHandle(new File(ATLAS_DIR, ATLAS_NAME + ".atlas"));
+        TextureAtlas.TextureAtlasData atlas = new TextureAtlas.TextureAtlasData(packFile, packFile.parent(), false);
+        ObjectMap<TextureAtlas.TextureAtlasData.Page, BufferedImage> pages = new ObjectMap<>();
+        for (TextureAtlas.TextureAtlasData.Page page : atlas.getPages()) {
+            pages.put(page, ImageIO.read(page.textureFile.file()));
+        }
+
+        Array<String> mismatches = new Array<>();
+        for (AnimationRegion pose : AnimationRegion.values()) {
+            for (SoldierLayer armor : ARMORS) {
+                for (SoldierLayer helmet : HELMETS) {
+                    BufferedImage strip = readStrip(getStripRegion(pose, armor, helmet));
+                    Array<String> regions = getDrawnRegions(atlas, pose, armor, helmet);
+                    int pixels = 0;
+                    for (int i = pose.getStartColumn(); i <= pose.getAmountFrames(); i++) {
+                        pixels += countMismatches(drawFrame(atlas, pages, regions, pose, i), getFrame(strip, pose, i));
+                    }
+                    if (pixels > 0) {
+                        mismatches.add(getStripRegion(pose, armor, helmet) + " (" + pixels + " pixels)");
+                    }
+                }
+            }
+        }
+        if (mismatches.size > 0) {
+            throw new IOException("The packed soldiers differ from their strips: " + mismatches.toString(", "));
+        }
+    }
+
+    private static Array<String> getDrawnRegions(TextureAtlas.TextureAtlasData atlas, AnimationRegion pose,
+                                                 SoldierLayer armor, SoldierLayer helmet) {
+        Array<String> regions = new Array<>();
+        String wholeSoldier = SoldierLayer.getRegion(pose, armor, helmet);
+        if (findRegion(atlas, wholeSoldier, pose.getStartColumn()) != null) {
+            regions.add(wholeSoldier);
+        } else {
+            regions.add(pose.getRegion());
+            if (armor != null) {
+                regions.add(armor.getRegion(pose));
+            }
+            if (helmet != null) {
+                regions.add(helmet.getRegion(pose));
+            }
+        }
+        return regions;
+    }
+
+    private static BufferedImage drawFrame(TextureAtlas.TextureAtlasData atlas,
+                                           ObjectMap<TextureAtlas.TextureAtlasData.Page, BufferedImage> pages,
+                                           Array<String> regions, AnimationRegion pose, int index) throws IOException {
+        BufferedImage frame = new BufferedImage(pose.getFrameWidth(), pose.getFrameHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = frame.createGraphics();
+        for (String name : regions) {
+            TextureAtlas.TextureAtlasData.Region region = findRegion(atlas, name, index);
+            if (region == null) {
+                throw new IOException("Missing atlas region " + name + "_" + index);
+            }
+            // the offsets count from the bottom left corner of the original frame
+            BufferedImage packed = pages.get(region.page).getSubimage(region.left, region.top, region.width,
+                    region.height);
+            graphics.drawImage(packed, (int) region.offsetX,
+                    region.originalHeight - region.height - (int) region.offsetY, null);
+        }
+        graphics.dispose();
+        return frame;
+    }
+
+    private static TextureAtlas.TextureAtlasData.Region findRegion(TextureAtlas.TextureAtlasData atlas,
+                                                                   String name, int index) {
+        for (TextureAtlas.TextureAtlasData.Region region : atlas.getRegions()) {
+            if (region.name.equals(name) && region.index == index) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    private static BufferedImage readStrip(String region) throws IOException {
+        return ImageIO.read(findStrip(new File(STRIPS_DIR), region + "-animation.png"));
+    }
+
+    private static File findStrip(File dir, String name) throws IOException {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    File strip = findStrip(file, name);
+                    if (strip != null) {
+                        return strip;
+                    }
+                } else if (file.getName().equals(name)) {
+                    return file;
+                }
+            }
+        }
+        if (dir.getPath().equals(STRIPS_DIR)) {
+            throw new IOException("Missing animation strip " + name);
+        }
+        return null;
+    }
+}